@@ -60,6 +60,12 @@ public class SelectPopulateableListFragment extends AbstractFragment<ListAdapper
                     view.setOnClickListener(null);
                 }
             }
+
+            @Override
+            protected boolean bindSelection(NameAndMoodView view, int position, @Nullable SelectionManager selectionManager) {
+                view.setChecked(selectionManager != null && selectionManager.isItemSelected(position));
+                return true;
+            }
         };
 
         ListAdapper<NameAndMood, NameAndMoodView> adapper = new ListAdapper<>(list, provider).setFilterFunction(new FilterFunction<NameAndMood>() {
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.scopely.adapper.impls.TypedViewHolder;
+import com.scopely.adapper.interfaces.ViewProvider;
+import com.scopely.adapper.utils.SetUtils;
+
+import java.util.Set;
+
+/**
+ * ViewProviders for tests that exercise Adappers without a RecyclerView, and so never create a ViewHolder.
+ */
+public class TestViewProviders {
+    /**
+     * @return a ViewProvider giving every model {@param viewType}, which throws if asked to create a ViewHolder
+     */
+    public static <T> ViewProvider<T, View> of(final int viewType) {
+        return new ViewProvider<T, View>() {
+            @Override
+            public int getViewType(T model) {
+                return viewType;
+            }
+
+            @Override
+            public Set<Integer> getViewTypes() {
+                return SetUtils.initSet(viewType);
+            }
+
+            @Override
+            public TypedViewHolder<T, View> create(LayoutInflater inflater, ViewGroup parent, int viewType) {
+                throw new UnsupportedOperationException("Not displayed in tests");
+            }
+        };
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.InstrumentationRegistry;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.widget.Filter;
+import android.widget.FilterQueryProvider;
+
+import com.scopely.adapper.TestViewProviders;
+import com.scopely.adapper.interfaces.MiniOrm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class CursorAdapperTest {
+    private static final int ROWS = 20;
+
+    private static final MiniOrm<String> NAME_ORM = new MiniOrm<String>() {
+        @Override
+        public String getObject(Cursor c) {
+            return c.getString(c.getColumnIndexOrThrow("name"));
+        }
+    };
+
+    private static final CursorAdapper.CursorLookup<String> NO_LOOKUP = new CursorAdapper.CursorLookup<String>() {
+        @Override
+        public Set<String> getModels(Set<Long> ids, MiniOrm<String> miniOrm) {
+            return Collections.emptySet();
+        }
+    };
+
+    private final AtomicInteger idReads = new AtomicInteger();
+    private final CursorAdapper.CursorIdentifier identifier = new CursorAdapper.CursorIdentifier() {
+        @Override
+        public long getId(int position, Cursor cursor) {
+            idReads.incrementAndGet();
+            cursor.moveToPosition(position);
+            return cursor.getLong(cursor.getColumnIndexOrThrow("_id"));
+        }
+    };
+
+    private SQLiteDatabase db;
+    private CursorAdapper<String, View> adapter;
+
+    @Before
+    public void setUp() {
+        db = SQLiteDatabase.create(null);
+        db.execSQL("CREATE TABLE items (_id INTEGER PRIMARY KEY, name TEXT)");
+        for (int i = 0; i < ROWS; i++) {
+            db.execSQL("INSERT INTO items (_id, name) VALUES (?, ?)", new Object[]{i + 1, "row" + i});
+        }
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                adapter = new CursorAdapper<>(query(), identifier, NO_LOOKUP, NAME_ORM, TestViewProviders.<String>of(1));
+                adapter.setFilterQueryProvider(new FilterQueryProvider() {
+                    @Override
+                    public Cursor runQuery(CharSequence constraint) {
+                        return query();
+                    }
+                });
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                adapter.changeCursor(null);
+            }
+        });
+        db.close();
+    }
+
+    @Test
+    public void testIdLookupsReadCursorOnce() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Cursor cursor = adapter.getCursor();
+                cursor.moveToPosition(5);
+                for (int position = 0; position < ROWS; position++) {
+                    assertThat(adapter.getItemId(position), is(position + 1L));
+                    assertThat(adapter.getPosition(position + 1L), is(position));
+                }
+                assertThat(adapter.getPosition(ROWS + 1), is(RecyclerView.NO_POSITION));
+                //A single pass over the cursor, which is left where it was
+                assertThat(idReads.get(), is(ROWS));
+                assertThat(cursor.getPosition(), is(5));
+
+                //Changing the cursor discards the ids
+                adapter.changeCursor(query());
+                assertThat(adapter.getItemId(0), is(1L));
+                assertThat(idReads.get(), is(ROWS * 2));
+            }
+        });
+    }
+
+    @Test
+    public void testRequeryDoesNotReadIdsOnMainThread() throws InterruptedException {
+        assertThat(getItemId(0), is(1L));
+        assertThat(idReads.get(), is(ROWS));
+
+        db.execSQL("DELETE FROM items WHERE _id = 1");
+        requery();
+        //The requery read the new cursor's ids on the background thread
+        assertThat(idReads.get(), is(ROWS * 2 - 1));
+
+        //Its dispatched updates must not have made that snapshot stale, or it would be read again here
+        assertThat(getItemId(0), is(2L));
+        assertThat(getItemId(ROWS - 2), is((long) ROWS));
+        assertThat(idReads.get(), is(ROWS * 2 - 1));
+    }
+
+    @Test
+    public void testFilterReadsIdsInBackground() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                adapter.getFilter().filter("", new Filter.FilterListener() {
+                    @Override
+                    public void onFilterComplete(int count) {
+                        latch.countDown();
+                    }
+                });
+            }
+        });
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(idReads.get(), is(ROWS));
+        //The ids read while filtering come with the new cursor, for selection and prefetching to use
+        assertThat(getItemId(ROWS - 1), is((long) ROWS));
+        assertThat(idReads.get(), is(ROWS));
+    }
+
+    private Cursor query() {
+        return db.query("items", null, null, null, null, null, "_id");
+    }
+
+    private long getItemId(final int position) {
+        final long[] id = new long[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                id[0] = adapter.getItemId(position);
+            }
+        });
+        return id[0];
+    }
+
+    /**
+     * Requeries the adapter on the main thread, and waits for it to notify of the rows that changed
+     */
+    private void requery() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final RecyclerView.AdapterDataObserver observer = new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                latch.countDown();
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                latch.countDown();
+            }
+        };
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                adapter.registerAdapterDataObserver(observer);
+                adapter.requery();
+            }
+        });
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                adapter.unregisterAdapterDataObserver(observer);
+            }
+        });
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.util.Log;
+import android.widget.FilterQueryProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Compares filtering a large table with LIKE against filtering it with {@link CursorAdapper.FtsQueryProvider}.
+ * The LIKE query is written to match exactly the rows the full-text query does (every word typed is the start of a word of the name),
+ * which is checked before either is timed. Timings are logged rather than asserted on, as they depend on the device.
+ */
+public class FtsQueryProviderBenchmark {
+    private static final String TAG = "FtsQueryProviderBenchmark";
+    private static final String DATABASE = "fts_benchmark.db";
+    private static final int ROWS = 50000;
+    private static final int RUNS = 5;
+    private static final String[] WORDS = {"taylor", "tanya", "tayo", "swift", "sweeney", "tom", "anna", "annabel", "smith", "jones"};
+    //Typing a name one keystroke at a time
+    private static final String[] CONSTRAINTS = {"t", "ta", "tay", "tayl", "taylor", "taylor s", "taylor sw", "taylor swift"};
+
+    private SQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        //On disk rather than in memory, so that the timings include reading pages from storage as an app's queries would
+        Context context = InstrumentationRegistry.getTargetContext();
+        context.deleteDatabase(DATABASE);
+        File file = context.getDatabasePath(DATABASE);
+        //The databases directory only exists once the app has created a database through the Context
+        file.getParentFile().mkdirs();
+        db = SQLiteDatabase.openOrCreateDatabase(file, null);
+        db.execSQL("CREATE TABLE people (_id INTEGER PRIMARY KEY, name TEXT)");
+        Random random = new Random(0);
+        ContentValues values = new ContentValues();
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < ROWS; i++) {
+                values.put("name", WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i);
+                db.insert("people", null, values);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        InstrumentationRegistry.getTargetContext().deleteDatabase(DATABASE);
+    }
+
+    @Test
+    public void testFtsAgainstLike() {
+        FilterQueryProvider like = new FilterQueryProvider() {
+            @Override
+            public Cursor runQuery(CharSequence constraint) {
+                String[] words = constraint.toString().split(" ");
+                StringBuilder selection = new StringBuilder();
+                String[] selectionArgs = new String[words.length];
+                for (int i = 0; i < words.length; i++) {
+                    if (i > 0) {
+                        selection.append(" AND ");
+                    }
+                    //The words are plain letters, so need no escaping from LIKE
+                    selection.append("(' ' || name) LIKE ?");
+                    selectionArgs[i] = "% " + words[i] + "%";
+                }
+                return db.query("people", null, selection.toString(), selectionArgs, null, null, null);
+            }
+        };
+        CursorAdapper.FtsQueryProvider fts = new CursorAdapper.FtsQueryProvider(db, "people", new String[]{"name"}, null, null);
+        long start = SystemClock.elapsedRealtime();
+        fts.createIndex();
+        StringBuilder report = new StringBuilder("FTS index built in " + (SystemClock.elapsedRealtime() - start) + "ms\n");
+        for (String constraint : CONSTRAINTS) {
+            assertThat(constraint, count(fts, constraint), is(count(like, constraint)));
+            report.append('"').append(constraint).append("\": LIKE ").append(time(like, constraint))
+                    .append("ms, FTS ").append(time(fts, constraint)).append("ms (median of ").append(RUNS).append(")\n");
+        }
+        Log.i(TAG, report.toString());
+    }
+
+    private static int count(FilterQueryProvider provider, String constraint) {
+        Cursor cursor = provider.runQuery(constraint);
+        try {
+            return cursor.getCount();
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * @return the median time taken to run the query for {@param constraint} and count its results, in milliseconds
+     */
+    private static long time(FilterQueryProvider provider, String constraint) {
+        long[] times = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = SystemClock.elapsedRealtime();
+            //Queries are only run once their results are needed
+            count(provider, constraint);
+            times[i] = SystemClock.elapsedRealtime() - start;
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.scopely.adapper.TestViewProviders;
+import com.scopely.adapper.interfaces.GroupComparator;
+import com.scopely.adapper.interfaces.SelectionManager;
+import com.scopely.adapper.selection.MultiSelectManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks the per-group selection counts behind {@link GroupableAdapper#getGroupSelectionState(int)}, which are kept up to date
+ * from the changes the SelectionManager reports rather than by counting every time.
+ */
+public class GroupableAdapperSelectionTest {
+    private static final Comparator<Integer> NATURAL = new Comparator<Integer>() {
+        @Override
+        public int compare(Integer lhs, Integer rhs) {
+            return lhs.compareTo(rhs);
+        }
+    };
+
+    //Grouped by tens
+    private static final GroupComparator<Integer, Integer> BY_TENS = new GroupComparator<Integer, Integer>() {
+        @Override
+        public Integer getGroup(Integer item) {
+            return item / 10;
+        }
+
+        @Override
+        public Comparator<Integer> getIntraGroupComparator() {
+            return NATURAL;
+        }
+
+        @Override
+        public Comparator<Integer> getGroupComparator() {
+            return NATURAL;
+        }
+
+        @Override
+        public int compare(Integer lhs, Integer rhs) {
+            return lhs.compareTo(rhs);
+        }
+    };
+
+    private GroupableAdapper<Integer, View, Integer, View> adapter;
+    private MultiSelectManager<Integer> manager;
+    private final List<Integer> notifiedHeaders = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        //[0] 1 2 3 [1] 11 12 [2] 25 [3] 31 32 33 34
+        List<Integer> items = new ArrayList<>(Arrays.asList(3, 1, 2, 11, 12, 25, 31, 32, 33, 34));
+        adapter = new GroupableAdapper<>(items, TestViewProviders.<Integer>of(1), BY_TENS, TestViewProviders.<Integer>of(2));
+        manager = new MultiSelectManager<>(adapter);
+        adapter.setSelectionManager(manager);
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                for (int position = positionStart; position < positionStart + itemCount; position++) {
+                    if (payload == SelectionManager.SELECTION_PAYLOAD && adapter.isGroup(position)) {
+                        notifiedHeaders.add(position);
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testCountsFollowSelection() {
+        assertThat(states(), is("0000"));
+        adapter.selectGroup(3, true);
+        assertThat(states(), is("0002"));
+        manager.selectItem(1, true);
+        assertThat(states(), is("1002"));
+        manager.selectItem(2, true);
+        manager.selectItem(3, true);
+        assertThat(states(), is("2002"));
+        manager.selectItem(13, false);
+        assertThat(states(), is("2001"));
+        //Selecting an item again changes nothing
+        manager.selectItem(1, true);
+        assertThat(states(), is("2001"));
+        manager.deselectRange(0, 4);
+        assertThat(states(), is("0001"));
+    }
+
+    @Test
+    public void testCountsAfterReset() {
+        manager.selectItem(5, true);
+        assertThat(states(), is("0100"));
+        //selectAll() and clearSelections() report a reset, after which the counts are taken again
+        manager.selectAll();
+        assertThat(states(), is("2222"));
+        manager.selectItem(8, false);
+        assertThat(states(), is("2202"));
+        manager.clearSelections();
+        assertThat(states(), is("0000"));
+    }
+
+    @Test
+    public void testHeadersNotifiedWhenStateChanges() {
+        states();
+        manager.selectItem(5, true);
+        assertThat(notifiedHeaders.toString(), is("[4]"));
+        manager.selectItem(6, true);
+        assertThat(notifiedHeaders.toString(), is("[4, 4]"));
+        //Group 3 goes from none to some selected, and stays at some
+        manager.selectItem(10, true);
+        manager.selectItem(11, true);
+        assertThat(notifiedHeaders.toString(), is("[4, 4, 9]"));
+    }
+
+    @Test
+    public void testGetPositionMapsThroughGroups() {
+        assertThat(adapter.hasReverseIdentifier(), is(true));
+        for (int position = 0; position < adapter.getItemCount(); position++) {
+            if (!adapter.isGroup(position)) {
+                assertThat(adapter.getPosition(adapter.getItemId(position)), is(position));
+            }
+        }
+        assertThat(adapter.getPosition(-1), is(RecyclerView.NO_POSITION));
+    }
+
+    private String states() {
+        StringBuilder states = new StringBuilder();
+        for (int group = 0; group < adapter.getGroupCount(); group++) {
+            states.append(adapter.getGroupSelectionState(group));
+        }
+        return states.toString();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.os.Looper;
+import android.support.test.InstrumentationRegistry;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.scopely.adapper.TestViewProviders;
+import com.scopely.adapper.interfaces.BackgroundSectionFactory;
+import com.scopely.adapper.interfaces.SectionFactory;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks that sections added with {@link RecursiveAdapper#addSection(SectionFactory, int, int)} are created only when needed, and swapped in for their placeholders once they are.
+ */
+public class LazyAdapperTest {
+    private static final int PLACEHOLDERS = 2;
+    private static final int PLACEHOLDER_LAYOUT = 3;
+
+    private static class CountingFactory implements SectionFactory<String> {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicBoolean onMainThread = new AtomicBoolean();
+
+        @Override
+        public BaseAdapper<? extends String, ? extends RecyclerView.ViewHolder> create() {
+            created.incrementAndGet();
+            onMainThread.set(Looper.myLooper() == Looper.getMainLooper());
+            return rows("a", "b", "c");
+        }
+    }
+
+    private static class CountingBackgroundFactory extends CountingFactory implements BackgroundSectionFactory<String> {
+    }
+
+    @Test
+    public void testPlaceholdersUntilActivated() {
+        CountingFactory factory = new CountingFactory();
+        LazyAdapper<String> section = new LazyAdapper<>(factory, PLACEHOLDERS, PLACEHOLDER_LAYOUT);
+        assertThat(section.getItemCount(), is(PLACEHOLDERS));
+        assertThat(section.isModel(0), is(false));
+        assertThat(section.getItemViewType(0), is(-PLACEHOLDER_LAYOUT));
+        assertThat(factory.created.get(), is(0));
+
+        //Creating the Adapper does not change what is displayed until it is swapped in
+        section.materialize();
+        assertThat(section.isMaterialized(), is(true));
+        assertThat(section.getItemCount(), is(PLACEHOLDERS));
+
+        section.activate();
+        assertThat(section.getItemCount(), is(3));
+        assertThat(section.getItem(1), is((Object) "b"));
+        section.materialize();
+        assertThat(factory.created.get(), is(1));
+    }
+
+    @Test
+    public void testPrefetchMaterializesSectionsInRange() throws InterruptedException {
+        final CountingFactory near = new CountingFactory();
+        final CountingFactory far = new CountingFactory();
+        final RecursiveAdapper<String> adapter = new RecursiveAdapper<String>(rows("x", "y", "z"));
+        adapter.addSection(near, PLACEHOLDERS, PLACEHOLDER_LAYOUT);
+        adapter.addSection(far, PLACEHOLDERS, PLACEHOLDER_LAYOUT);
+        awaitNotification(adapter, new Runnable() {
+            @Override
+            public void run() {
+                //The first placeholder of the near section, nowhere near the far one
+                adapter.prefetch(0, 3);
+            }
+        });
+        assertThat(near.created.get(), is(1));
+        assertThat(far.created.get(), is(0));
+        assertThat(itemCount(adapter), is(3 + 3 + PLACEHOLDERS));
+    }
+
+    @Test
+    public void testBackgroundFactoryIsCalledOffMainThread() throws InterruptedException {
+        final CountingFactory factory = new CountingBackgroundFactory();
+        final RecursiveAdapper<String> adapter = new RecursiveAdapper<String>(rows("x"));
+        adapter.addSection(factory, PLACEHOLDERS, PLACEHOLDER_LAYOUT);
+        awaitNotification(adapter, new Runnable() {
+            @Override
+            public void run() {
+                adapter.prefetch(0, 1);
+                //Requesting the same section again while it is being created does not create it twice
+                adapter.prefetch(1, 2);
+            }
+        });
+        assertThat(factory.created.get(), is(1));
+        assertThat(factory.onMainThread.get(), is(false));
+        assertThat(itemCount(adapter), is(1 + 3));
+    }
+
+    private static ListAdapper<String, View> rows(String... rows) {
+        return new ListAdapper<>(Arrays.asList(rows), TestViewProviders.<String>of(1));
+    }
+
+    private static int itemCount(final RecursiveAdapper<String> adapter) {
+        final int[] count = new int[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                count[0] = adapter.getItemCount();
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Runs {@param action} on the main thread and waits for {@param adapter} to notify of a change, such as a section being swapped in
+     */
+    private static void awaitNotification(final RecursiveAdapper<String> adapter, final Runnable action) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final RecyclerView.AdapterDataObserver observer = new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                latch.countDown();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                latch.countDown();
+            }
+        };
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                adapter.registerAdapterDataObserver(observer);
+                action.run();
+            }
+        });
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                adapter.unregisterAdapterDataObserver(observer);
+            }
+        });
+    }
+}
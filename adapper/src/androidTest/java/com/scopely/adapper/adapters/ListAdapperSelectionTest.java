@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.view.View;
+import android.widget.Filter;
+
+import com.scopely.adapper.TestViewProviders;
+import com.scopely.adapper.interfaces.FilterFunction;
+import com.scopely.adapper.selection.MultiSelectManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks that items hidden by the filter of a {@link ListAdapper} stay selected.
+ */
+public class ListAdapperSelectionTest {
+    private static final int ITEMS = 10;
+
+    private final List<Integer> source = new ArrayList<>();
+    private ListAdapper<Integer, View> adapter;
+    private MultiSelectManager<Integer> manager;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < ITEMS; i++) {
+            source.add(i);
+        }
+        adapter = new ListAdapper<>(source, TestViewProviders.<Integer>of(1));
+        //Any constraint keeps only the even items
+        adapter.setFilterFunction(new FilterFunction<Integer>() {
+            @Override
+            public boolean filter(Integer item, @Nullable CharSequence constraint) {
+                return constraint == null || constraint.length() == 0 || item % 2 == 0;
+            }
+        });
+        manager = new MultiSelectManager<>(adapter);
+        adapter.setSelectionManager(manager);
+    }
+
+    @Test
+    public void testSelectionsSurviveFilter() throws InterruptedException {
+        manager.selectItem(2, true);
+        manager.selectItem(3, true);
+        manager.selectItem(7, true);
+        filter("even");
+        assertThat(adapter.getItemCount(), is(ITEMS / 2));
+        assertThat(selected(), is("[2, 3, 7]"));
+        //Positions are among the visible items, where 2 is now second
+        assertThat(manager.isItemSelected(1), is(true));
+        assertThat(manager.isItemSelected(0), is(false));
+        filter("");
+        assertThat(selected(), is("[2, 3, 7]"));
+        assertThat(manager.isItemSelected(3), is(true));
+    }
+
+    @Test
+    public void testSelectionsFollowSource() throws InterruptedException {
+        manager.selectItem(3, true);
+        manager.selectItem(4, true);
+        filter("even");
+        source.remove(Integer.valueOf(3));
+        adapter.notifyDataSetChanged();
+        //A hidden item removed from the source is no longer among the selections
+        assertThat(selected(), is("[4]"));
+    }
+
+    private String selected() {
+        return new TreeSet<>(manager.getSelections()).toString();
+    }
+
+    private void filter(final String constraint) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                adapter.getFilter().filter(constraint, new Filter.FilterListener() {
+                    @Override
+                    public void onFilterComplete(int count) {
+                        latch.countDown();
+                    }
+                });
+            }
+        });
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.InstrumentationRegistry;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.scopely.adapper.TestViewProviders;
+import com.scopely.adapper.interfaces.MiniOrm;
+import com.scopely.adapper.interfaces.PageQuery;
+import com.scopely.adapper.utils.ThreadUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class PagedCursorAdapperTest {
+    private static final int ROWS = 95;
+    private static final int PLACEHOLDER = 1;
+
+    private static final MiniOrm<String> NAME_ORM = new MiniOrm<String>() {
+        @Override
+        public String getObject(Cursor c) {
+            return c.getString(c.getColumnIndexOrThrow("name"));
+        }
+    };
+
+    private SQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        db = SQLiteDatabase.create(null);
+        db.execSQL("CREATE TABLE items (_id INTEGER PRIMARY KEY, name TEXT, even INTEGER)");
+        for (int i = 0; i < ROWS; i++) {
+            ContentValues values = new ContentValues();
+            //Leave gaps in the keys, so that seeking by key and by offset only agree if both are right
+            values.put("_id", i * 3 + 1);
+            values.put("name", "row" + i);
+            values.put("even", i % 2 == 0 ? 1 : 0);
+            db.insert("items", null, values);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void testLimitOffsetQuery() {
+        PagedCursorAdapper.LimitOffsetQuery query = new PagedCursorAdapper.LimitOffsetQuery(db, "items", null, "even = ?", new String[]{"1"}, "_id");
+        assertThat(query.getCount(), is(48));
+        assertThat(readNames(query.getPage(0, 3)).toString(), is("[row0, row2, row4]"));
+        assertThat(readNames(query.getPage(46, 10)).toString(), is("[row92, row94]"));
+    }
+
+    @Test
+    public void testKeysetQueryMatchesOffsets() {
+        PagedCursorAdapper.LimitOffsetQuery offsets = new PagedCursorAdapper.LimitOffsetQuery(db, "items", null, "even = ?", new String[]{"1"}, "_id");
+        PagedCursorAdapper.KeysetQuery keyset = new PagedCursorAdapper.KeysetQuery(db, "items", null, "even = ?", new String[]{"1"}, "_id");
+        assertThat(keyset.getCount(), is(offsets.getCount()));
+        //Once a page has been read, the page after it is found by the key the page ended at, including when a page is read again
+        for (int offset : new int[]{0, 10, 20, 30, 40, 10, 0}) {
+            assertThat(readNames(keyset.getPage(offset, 10)), is(readNames(offsets.getPage(offset, 10))));
+        }
+    }
+
+    @Test
+    public void testKeysetQueryAfterChange() {
+        PagedCursorAdapper.KeysetQuery keyset = new PagedCursorAdapper.KeysetQuery(db, "items", null, null, null, "_id");
+        keyset.getCount();
+        readNames(keyset.getPage(0, 10));
+        db.delete("items", "_id = ?", new String[]{"1"});
+        //Counting again forgets the page boundaries, which no longer hold
+        assertThat(keyset.getCount(), is(ROWS - 1));
+        assertThat(readNames(keyset.getPage(10, 1)).toString(), is("[row11]"));
+    }
+
+    @Test
+    public void testPagesAreEvicted() throws InterruptedException {
+        final PagedCursorAdapper<String, View> adapter = createAdapter(new PagedCursorAdapper.LimitOffsetQuery(db, "items", null, null, null, "_id"));
+        assertThat(adapter.getItemCount(), is(ROWS));
+        for (int page = 0; page < 3; page++) {
+            load(adapter, page * 10);
+        }
+        assertThat(adapter.isLoaded(5), is(false));
+        assertThat(adapter.isLoaded(15), is(true));
+        assertThat(adapter.isLoaded(25), is(true));
+        assertThat(get(adapter, 25), is("row25"));
+    }
+
+    @Test
+    public void testFailedPageIsNotRequestedAgainImmediately() throws InterruptedException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final PagedCursorAdapper<String, View> adapter = createAdapter(new PageQuery() {
+            @Override
+            public int getCount() {
+                return ROWS;
+            }
+
+            @Override
+            public Cursor getPage(int offset, int limit) {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("Failing on purpose");
+            }
+        });
+        get(adapter, 0);
+        awaitBackground();
+        get(adapter, 1);
+        get(adapter, 2);
+        awaitBackground();
+        assertThat(attempts.get(), is(1));
+    }
+
+    @Test
+    public void testFailedPageIsReboundAfterDelay() throws InterruptedException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final PagedCursorAdapper.LimitOffsetQuery rows = new PagedCursorAdapper.LimitOffsetQuery(db, "items", null, null, null, "_id");
+        final PagedCursorAdapper<String, View> adapter = createAdapter(new PageQuery() {
+            @Override
+            public int getCount() {
+                return rows.getCount();
+            }
+
+            @Override
+            public Cursor getPage(int offset, int limit) {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Failing on purpose");
+                }
+                return rows.getPage(offset, limit);
+            }
+        });
+        get(adapter, 0);
+        awaitBackground();
+        List<PagedCursorAdapper<String, View>> adapters = new ArrayList<>();
+        adapters.add(adapter);
+        //The placeholders are notified once the retry delay has passed, so that binding them requests the page again
+        awaitNotification(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, adapters);
+        load(adapter, 0);
+        assertThat(get(adapter, 0), is("row0"));
+        assertThat(attempts.get(), is(2));
+    }
+
+    private PagedCursorAdapper<String, View> createAdapter(final PageQuery query) throws InterruptedException {
+        final List<PagedCursorAdapper<String, View>> adapter = new ArrayList<>();
+        awaitNotification(new Runnable() {
+            @Override
+            public void run() {
+                adapter.add(new PagedCursorAdapper<>(query, NAME_ORM, TestViewProviders.<String>of(2), PLACEHOLDER, 10, 2));
+            }
+        }, adapter);
+        return adapter.get(0);
+    }
+
+    /**
+     * Requests the page containing {@param position}, and waits for it to arrive
+     */
+    private void load(final PagedCursorAdapper<String, View> adapter, final int position) throws InterruptedException {
+        List<PagedCursorAdapper<String, View>> adapters = new ArrayList<>();
+        adapters.add(adapter);
+        awaitNotification(new Runnable() {
+            @Override
+            public void run() {
+                adapter.getItem(position);
+            }
+        }, adapters);
+    }
+
+    /**
+     * Runs {@param action} on the main thread and waits for the (first) adapter in {@param adapter}, which the action may create, to notify of a change
+     */
+    private static void awaitNotification(final Runnable action, final List<PagedCursorAdapper<String, View>> adapter) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final RecyclerView.AdapterDataObserver observer = new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                latch.countDown();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                latch.countDown();
+            }
+        };
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                action.run();
+                adapter.get(0).registerAdapterDataObserver(observer);
+            }
+        });
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                adapter.get(0).unregisterAdapterDataObserver(observer);
+            }
+        });
+    }
+
+    private static String get(final PagedCursorAdapper<String, View> adapter, final int position) {
+        final List<Object> item = new ArrayList<>();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                item.add(adapter.getItem(position));
+            }
+        });
+        return (String) item.get(0);
+    }
+
+    /**
+     * Waits for the work queued on the background thread, and anything it posted to the main thread, to complete
+     */
+    private static void awaitBackground() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        ThreadUtils.runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                ThreadUtils.postToMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        latch.countDown();
+                    }
+                });
+            }
+        });
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    private static List<String> readNames(Cursor cursor) {
+        List<String> names = new ArrayList<>();
+        try {
+            while (cursor.moveToNext()) {
+                names.add(NAME_ORM.getObject(cursor));
+            }
+        } finally {
+            cursor.close();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.scopely.adapper.TestViewProviders;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks that a {@link RecursiveAdapper.SectionTransaction} notifies exactly the changes it makes, by replaying its notifications
+ * on the rows as they were before the commit, as RecyclerView would, and comparing the result with the rows after it.
+ */
+public class SectionTransactionTest {
+    private static final String INSERTED = "+";
+
+    private final ListAdapper<String, View> a = rows("a1", "a2");
+    private final ListAdapper<String, View> b = rows("b1");
+    private final ListAdapper<String, View> c = rows("c1", "c2", "c3");
+    private RecursiveAdapper<String> adapter;
+    //The rows as RecyclerView would see them, kept up to date from the notifications alone
+    private List<String> replayed;
+    private int childNotifications;
+
+    @Before
+    public void setUp() {
+        adapter = new RecursiveAdapper<String>(a, b);
+        replayed = items();
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                throw new AssertionError("A transaction must not notify of a change to everything");
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                replayed.addAll(positionStart, Collections.nCopies(itemCount, INSERTED));
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                replayed.subList(positionStart, positionStart + itemCount).clear();
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                replayed.add(toPosition, replayed.remove(fromPosition));
+            }
+        });
+        RecyclerView.AdapterDataObserver childObserver = new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                childNotifications++;
+            }
+        };
+        a.registerAdapterDataObserver(childObserver);
+        b.registerAdapterDataObserver(childObserver);
+        c.registerAdapterDataObserver(childObserver);
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        adapter.beginTransaction()
+                .add(c, 1)
+                .remove(a)
+                .commit();
+        assertThat(items().toString(), is("[c1, c2, c3, b1]"));
+        assertThat(replayed.toString(), is("[+, +, +, b1]"));
+        assertThat(adapter.getItemCount(), is(4));
+        //Only the arrangement of the children changed, so they are not told of anything
+        assertThat(childNotifications, is(0));
+    }
+
+    @Test
+    public void testMoves() {
+        adapter.beginTransaction().add(c).commit();
+        replayed = items();
+        adapter.beginTransaction()
+                .move(c, 0)
+                .move(a, 2)
+                .commit();
+        assertThat(items().toString(), is("[c1, c2, c3, b1, a1, a2]"));
+        assertThat(replayed, is(items()));
+    }
+
+    @Test
+    public void testEmptySectionIsNotNotified() {
+        adapter.beginTransaction().add(rows(), 0).commit();
+        assertThat(replayed, is(items()));
+        assertThat(adapter.getItemCount(), is(3));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCommitTwice() {
+        RecursiveAdapper<String>.SectionTransaction transaction = adapter.beginTransaction().remove(b);
+        transaction.commit();
+        transaction.commit();
+    }
+
+    private List<String> items() {
+        List<String> items = new ArrayList<>();
+        for (int position = 0; position < adapter.getItemCount(); position++) {
+            items.add((String) adapter.getItem(position));
+        }
+        return items;
+    }
+
+    private static ListAdapper<String, View> rows(String... rows) {
+        return new ListAdapper<>(Arrays.asList(rows), TestViewProviders.<String>of(1));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.scopely.adapper.impls.TypedViewHolder;
+import com.scopely.adapper.interfaces.SelectionManager;
+import com.scopely.adapper.interfaces.ViewProvider;
+import com.scopely.adapper.selection.MultiSelectManager;
+import com.scopely.adapper.utils.SetUtils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks that rows whose only change is their selection state are offered to {@link TypedViewHolder#bindSelection(int, SelectionManager)}
+ * rather than fully rebound.
+ */
+public class SelectionPayloadTest {
+    private ListAdapper<Integer, View> adapter;
+    private MultiSelectManager<Integer> manager;
+    private Holder holder;
+    private boolean handlesSelection = true;
+
+    @Before
+    public void setUp() {
+        adapter = new ListAdapper<>(Arrays.asList(0, 1, 2, 3), new ViewProvider<Integer, View>() {
+            @Override
+            public int getViewType(Integer model) {
+                return 0;
+            }
+
+            @Override
+            public Set<Integer> getViewTypes() {
+                return SetUtils.initSet(0);
+            }
+
+            @Override
+            public TypedViewHolder<Integer, View> create(LayoutInflater inflater, ViewGroup parent, int viewType) {
+                throw new UnsupportedOperationException("Holders are created by the test");
+            }
+        });
+        manager = new MultiSelectManager<>(adapter);
+        adapter.setSelectionManager(manager);
+        holder = new Holder(new View(InstrumentationRegistry.getTargetContext()));
+    }
+
+    @Test
+    public void testSelectionPayloadBindsSelectionOnly() {
+        manager.selectItem(2, true);
+        bind(2, SelectionManager.SELECTION_PAYLOAD, SelectionManager.SELECTION_PAYLOAD);
+        assertThat(holder.binds, is(0));
+        assertThat(holder.selectionBinds, is(1));
+        assertThat(holder.selected, is(true));
+    }
+
+    @Test
+    public void testOtherPayloadsBindFully() {
+        bind(1);
+        assertThat(holder.binds, is(1));
+        bind(1, SelectionManager.SELECTION_PAYLOAD, "payload");
+        assertThat(holder.binds, is(2));
+        assertThat(holder.selectionBinds, is(0));
+    }
+
+    @Test
+    public void testDeclinedSelectionBindsFully() {
+        handlesSelection = false;
+        bind(1, SelectionManager.SELECTION_PAYLOAD);
+        assertThat(holder.selectionBinds, is(1));
+        assertThat(holder.binds, is(1));
+    }
+
+    @Test
+    public void testSelectionNotifiesWithPayload() {
+        final List<Object> payloads = new ArrayList<>();
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                payloads.add(payload);
+            }
+        });
+        manager.selectItem(0, true);
+        manager.selectRange(1, 2);
+        manager.clearSelections();
+        assertThat(payloads.isEmpty(), is(false));
+        assertThat(Collections.frequency(payloads, SelectionManager.SELECTION_PAYLOAD), is(payloads.size()));
+    }
+
+    private void bind(int position, Object... payloads) {
+        adapter.onBindViewHolder(holder, position, Arrays.asList(payloads));
+    }
+
+    private class Holder extends TypedViewHolder<Integer, View> {
+        private int binds;
+        private int selectionBinds;
+        private boolean selected;
+
+        private Holder(View itemView) {
+            super(itemView);
+        }
+
+        @Override
+        protected void bind(View view, Integer model, int position, @Nullable SelectionManager selectionManager) {
+            binds++;
+            selected = selectionManager != null && selectionManager.isItemSelected(position);
+        }
+
+        @Override
+        protected boolean bindSelection(View view, int position, @Nullable SelectionManager selectionManager) {
+            selectionBinds++;
+            selected = selectionManager != null && selectionManager.isItemSelected(position);
+            return handlesSelection;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.extras;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class SharedViewPoolTest {
+    private static final int TYPE = 7;
+
+    private final RecyclerView.Adapter<RecyclerView.ViewHolder> adapter = new RecyclerView.Adapter<RecyclerView.ViewHolder>() {
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(parent.getContext())) {};
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return 0;
+        }
+    };
+    private ViewGroup parent;
+
+    @Before
+    public void setUp() {
+        parent = new FrameLayout(InstrumentationRegistry.getTargetContext());
+    }
+
+    @Test
+    public void testCountsEachCreationOnce() {
+        SharedViewPool pool = new SharedViewPool();
+        //A miss is not a creation, as a prefetch may give up rather than create a holder
+        assertThat(pool.getRecycledView(TYPE), is(nullValue()));
+        assertThat(pool.getInflationsPerformed(), is(0));
+
+        RecyclerView.ViewHolder holder = create();
+        pool.onViewHolderAttached(holder);
+        pool.onViewHolderAttached(holder);
+        assertThat(pool.getInflationsPerformed(), is(1));
+
+        pool.putRecycledView(holder);
+        assertThat(pool.getRecycledView(TYPE), is(holder));
+        pool.onViewHolderAttached(holder);
+        assertThat(pool.getInflationsAvoided(), is(1));
+        assertThat(pool.getInflationsPerformed(), is(1));
+
+        //Created by a prefetch and recycled without ever being attached
+        pool.putRecycledView(create());
+        assertThat(pool.getInflationsPerformed(), is(2));
+    }
+
+    @Test
+    public void testGrowsToPeakInUse() {
+        SharedViewPool pool = new SharedViewPool();
+        List<RecyclerView.ViewHolder> holders = attach(pool, SharedViewPool.DEFAULT_MAX_RECYCLED_VIEWS + 3);
+        assertThat(pool.getPeakInUse(TYPE), is(holders.size()));
+        for (RecyclerView.ViewHolder holder : holders) {
+            pool.putRecycledView(holder);
+        }
+        for (int i = 0; i < holders.size(); i++) {
+            assertThat(pool.getRecycledView(TYPE), is(notNullValue()));
+        }
+        assertThat(pool.getRecycledView(TYPE), is(nullValue()));
+        assertThat(pool.getInflationsAvoided(), is(holders.size()));
+    }
+
+    @Test
+    public void testReuseIsNotCountedAsMoreInUse() {
+        SharedViewPool pool = new SharedViewPool();
+        for (RecyclerView.ViewHolder holder : attach(pool, 3)) {
+            pool.putRecycledView(holder);
+        }
+        for (int i = 0; i < 3; i++) {
+            pool.onViewHolderAttached(pool.getRecycledView(TYPE));
+        }
+        assertThat(pool.getPeakInUse(TYPE), is(3));
+        assertThat(pool.getInflationsPerformed(), is(3));
+    }
+
+    @Test
+    public void testGrowthIsCapped() {
+        SharedViewPool pool = new SharedViewPool(6);
+        for (RecyclerView.ViewHolder holder : attach(pool, 8)) {
+            pool.putRecycledView(holder);
+        }
+        assertThat(pool.getPeakInUse(TYPE), is(8));
+        for (int i = 0; i < 6; i++) {
+            assertThat(pool.getRecycledView(TYPE), is(notNullValue()));
+        }
+        assertThat(pool.getRecycledView(TYPE), is(nullValue()));
+    }
+
+    private RecyclerView.ViewHolder create() {
+        return adapter.createViewHolder(parent, TYPE);
+    }
+
+    /**
+     * Creates {@param count} holders, as many RecyclerViews sharing {@param pool} would, and attaches them all at once
+     */
+    private List<RecyclerView.ViewHolder> attach(SharedViewPool pool, int count) {
+        List<RecyclerView.ViewHolder> holders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RecyclerView.ViewHolder holder = create();
+            pool.onViewHolderAttached(holder);
+            holders.add(holder);
+        }
+        return holders;
+    }
+}
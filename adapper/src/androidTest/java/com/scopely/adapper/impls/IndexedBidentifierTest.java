@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.impls;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.scopely.adapper.TestViewProviders;
+import com.scopely.adapper.adapters.ListAdapper;
+import com.scopely.adapper.interfaces.Identifier;
+import com.scopely.adapper.interfaces.SelectionManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class IndexedBidentifierTest {
+    private static final int ITEMS = 100;
+
+    private ListAdapper<Integer, View> adapter;
+    private IndexedBidentifier<Integer> bidentifier;
+    private int idReads;
+
+    @Before
+    public void setUp() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(i * 10);
+        }
+        adapter = new ListAdapper<>(items, TestViewProviders.<Integer>of(1));
+        final Identifier identifier = new HashCodeIdentifier(adapter);
+        bidentifier = new IndexedBidentifier<>(adapter, new Identifier() {
+            @Override
+            public long getId(int position) {
+                idReads++;
+                return identifier.getId(position);
+            }
+        });
+    }
+
+    @Test
+    public void testLookupsReadIdsOnce() {
+        assertThat(bidentifier.getPosition(HashCodeIdentifier.idOf(420)), is(42));
+        assertThat(idReads, is(ITEMS));
+        //With the index built, further lookups cost nothing like a scan
+        assertThat(models(7, 77, 3), is("[30, 70, 770]"));
+        assertThat(bidentifier.getPosition(HashCodeIdentifier.idOf(990)), is(99));
+        assertThat(bidentifier.getPosition(HashCodeIdentifier.idOf(5)), is(RecyclerView.NO_POSITION));
+        assertThat(idReads, is(ITEMS));
+    }
+
+    @Test
+    public void testSelectionChangeKeepsIndex() {
+        models(1);
+        adapter.notifyItemChanged(1, SelectionManager.SELECTION_PAYLOAD);
+        models(1);
+        assertThat(idReads, is(ITEMS));
+    }
+
+    @Test
+    public void testOtherChangesRebuildIndex() {
+        models(1);
+        adapter.notifyItemChanged(1, "payload");
+        models(1);
+        assertThat(idReads, is(2 * ITEMS));
+        adapter.notifyItemChanged(1);
+        models(1);
+        assertThat(idReads, is(3 * ITEMS));
+        adapter.notifyItemRemoved(1);
+        models(1);
+        assertThat(idReads, is(4 * ITEMS));
+    }
+
+    private String models(Integer... positions) {
+        HashSet<Long> ids = new HashSet<>();
+        for (Integer position : positions) {
+            ids.add(HashCodeIdentifier.idOf(adapter.getModel(position)));
+        }
+        return new TreeSet<>(bidentifier.getModels(ids)).toString();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.selection;
+
+import android.view.View;
+
+import com.scopely.adapper.TestViewProviders;
+import com.scopely.adapper.adapters.ListAdapper;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class MultiSelectManagerTest {
+    private static final int ITEMS = 10;
+
+    private ListAdapper<Integer, View> adapter;
+    private int maximumExceeded;
+
+    @Before
+    public void setUp() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(i);
+        }
+        adapter = new ListAdapper<>(items, TestViewProviders.<Integer>of(1));
+    }
+
+    @Test
+    public void testSelectAllInverts() {
+        MultiSelectManager<Integer> manager = new MultiSelectManager<>(adapter);
+        manager.selectItem(2, true);
+        assertThat(manager.selectAll(), is(true));
+        assertThat(manager.getCount(), is(ITEMS));
+        //Once inverted, the set holds the deselected items, so selecting and deselecting have to flip what they store
+        manager.selectItem(3, false);
+        manager.selectItem(3, false);
+        assertThat(manager.isItemSelected(3), is(false));
+        assertThat(manager.isItemSelected(4), is(true));
+        assertThat(manager.getCount(), is(ITEMS - 1));
+        manager.selectItem(3, true);
+        assertThat(manager.isItemSelected(3), is(true));
+        assertThat(manager.getCount(), is(ITEMS));
+    }
+
+    @Test
+    public void testInvertSelection() {
+        MultiSelectManager<Integer> manager = new MultiSelectManager<>(adapter);
+        manager.selectRange(0, 3);
+        assertThat(manager.invertSelection(), is(true));
+        assertThat(selected(manager), is("[3, 4, 5, 6, 7, 8, 9]"));
+        manager.selectItem(0, true);
+        assertThat(manager.invertSelection(), is(true));
+        assertThat(selected(manager), is("[1, 2]"));
+        manager.clearSelections();
+        assertThat(manager.getCount(), is(0));
+        assertThat(manager.isItemSelected(5), is(false));
+    }
+
+    @Test
+    public void testInvertSelectionUnderMaximum() {
+        MultiSelectManager<Integer> manager = createManager(6);
+        assertThat(manager.selectRange(0, 3), is(true));
+        //Inverting would select 7 items, more than the maximum, so nothing changes
+        assertThat(manager.invertSelection(), is(false));
+        assertThat(maximumExceeded, is(1));
+        assertThat(selected(manager), is("[0, 1, 2]"));
+        manager.selectRange(3, 2);
+        assertThat(manager.invertSelection(), is(true));
+        assertThat(selected(manager), is("[5, 6, 7, 8, 9]"));
+        assertThat(manager.isItemSelected(0), is(false));
+    }
+
+    @Test
+    public void testSelectAllUnderMaximum() {
+        MultiSelectManager<Integer> manager = createManager(4);
+        manager.selectItem(1, true);
+        //All or nothing, rather than selecting up to the maximum
+        assertThat(manager.selectAll(), is(false));
+        assertThat(maximumExceeded, is(1));
+        assertThat(selected(manager), is("[1]"));
+
+        manager = createManager(ITEMS);
+        assertThat(manager.selectAll(), is(true));
+        assertThat(manager.getCount(), is(ITEMS));
+        assertThat(manager.selectItem(0, true), is(true));
+    }
+
+    @Test
+    public void testSelectRangeStopsAtMaximum() {
+        MultiSelectManager<Integer> manager = createManager(4);
+        assertThat(manager.selectRange(2, 6), is(false));
+        assertThat(selected(manager), is("[2, 3, 4, 5]"));
+        assertThat(manager.selectItem(9, true), is(false));
+    }
+
+    private MultiSelectManager<Integer> createManager(int maximumSelectable) {
+        return new MultiSelectManager<Integer>(adapter, maximumSelectable) {
+            @Override
+            protected void onMaximumExceeded(int maximumSelectable) {
+                maximumExceeded++;
+            }
+        };
+    }
+
+    private static String selected(MultiSelectManager<Integer> manager) {
+        return new TreeSet<>(manager.getSelections()).toString();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.selection;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.scopely.adapper.TestViewProviders;
+import com.scopely.adapper.adapters.ListAdapper;
+import com.scopely.adapper.interfaces.SelectionManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class RadioSelectManagerTest {
+    private static final int ITEMS = 10;
+
+    private ListAdapper<Integer, View> adapter;
+    private RadioSelectManager<Integer> manager;
+    //Each notification as "position:payload", so a test can check exactly which rows were rebound and how
+    private List<String> changes;
+
+    @Before
+    public void setUp() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(i);
+        }
+        adapter = new ListAdapper<>(items, TestViewProviders.<Integer>of(1));
+        manager = new RadioSelectManager<>(adapter);
+        changes = new ArrayList<>();
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                throw new AssertionError("Changing the selection must not rebind every row");
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                for (int i = positionStart; i < positionStart + itemCount; i++) {
+                    changes.add(i + ":" + (payload == SelectionManager.SELECTION_PAYLOAD ? "selection" : payload));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testSelectNotifiesOnlyNewPosition() {
+        manager.selectItem(3, true);
+        assertThat(changes.toString(), is("[3:selection]"));
+        assertThat(manager.isItemSelected(3), is(true));
+    }
+
+    @Test
+    public void testSelectNotifiesOldAndNewPositions() {
+        manager.selectItem(3, true);
+        changes.clear();
+        manager.selectItem(7, true);
+        assertThat(changes.toString(), is("[3:selection, 7:selection]"));
+        assertThat(manager.isItemSelected(3), is(false));
+        assertThat(manager.isItemSelected(7), is(true));
+    }
+
+    @Test
+    public void testReselectNotifiesOnce() {
+        manager.selectItem(3, true);
+        changes.clear();
+        manager.selectItem(3, true);
+        assertThat(changes.toString(), is("[3:selection]"));
+    }
+
+    @Test
+    public void testClearNotifiesOldPosition() {
+        manager.clearSelections();
+        assertThat(changes.isEmpty(), is(true));
+        manager.selectItem(5, true);
+        changes.clear();
+        manager.clearSelections();
+        assertThat(changes.toString(), is("[5:selection]"));
+        assertThat(manager.getSelections().isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.scopely.adapper.impls.TypedViewHolder;
+import com.scopely.adapper.interfaces.MiniOrm;
+import com.scopely.adapper.interfaces.ViewProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CursorSnapshotTest {
+    private int decoded;
+
+    private final MiniOrm<String> nameOrm = new MiniOrm<String>() {
+        @Override
+        public String getObject(Cursor c) {
+            decoded++;
+            return c.getString(c.getColumnIndexOrThrow("name"));
+        }
+    };
+
+    private CursorSnapshot<String> snapshot;
+
+    @Before
+    public void setUp() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{"_id", "name", "rank", "code"});
+        cursor.addRow(new Object[]{10L, "c", 3L, 7L});
+        cursor.addRow(new Object[]{20L, "a", 1L, "x"});
+        cursor.addRow(new Object[]{30L, "b", 2L, null});
+        snapshot = new CursorSnapshot<>(cursor, nameOrm, "_id", "rank", "code");
+    }
+
+    @Test
+    public void testKeys() {
+        assertThat(snapshot.size(), is(3));
+        assertThat(snapshot.get(0).getId(), is(10L));
+        assertThat(snapshot.get(2).getLong(0), is(2L));
+        assertThat(snapshot.get(2).getString(0), is("2"));
+        //A column holding anything but integers past the first row is read as strings throughout
+        assertThat(snapshot.get(0).getString(1), is("7"));
+        assertThat(snapshot.get(0).getLong(1), is(7L));
+        assertThat(snapshot.get(1).getString(1), is("x"));
+        assertThat(snapshot.get(2).getString(1), is(nullValue()));
+        assertThat(snapshot.get(2).getLong(1), is(0L));
+        assertThat(decoded, is(0));
+    }
+
+    @Test
+    public void testSort() {
+        Collections.sort(snapshot, new Comparator<CursorSnapshot.Row<String>>() {
+            @Override
+            public int compare(CursorSnapshot.Row<String> lhs, CursorSnapshot.Row<String> rhs) {
+                return Long.valueOf(lhs.getLong(0)).compareTo(rhs.getLong(0));
+            }
+        });
+        assertThat(decoded, is(0));
+        List<String> names = new ArrayList<>();
+        for (CursorSnapshot.Row<String> row : snapshot) {
+            names.add(row.getModel());
+        }
+        assertThat(names.toString(), is("[a, b, c]"));
+        assertThat(snapshot.get(0).getId(), is(20L));
+        assertThat(snapshot.get(0).getString(1), is("x"));
+        //Models are decoded once per row, however many Row objects are handed out for it
+        snapshot.get(0).getModel();
+        assertThat(decoded, is(3));
+    }
+
+    @Test
+    public void testEditedRowIsNotEqual() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{"_id", "name", "rank", "code"});
+        cursor.addRow(new Object[]{10L, "c", 3L, 7L});
+        cursor.addRow(new Object[]{20L, "renamed", 1L, "x"});
+        cursor.addRow(new Object[]{30L, "b", 2L, null});
+        CursorSnapshot<String> requeried = new CursorSnapshot<>(cursor, nameOrm, "_id", "rank", "code");
+        assertThat(requeried.get(0).equals(snapshot.get(0)), is(true));
+        assertThat(requeried.get(2).equals(snapshot.get(2)), is(true));
+        //Read as removed and inserted again, so that it is rebound, but under the same id
+        assertThat(requeried.get(1).equals(snapshot.get(1)), is(false));
+        assertThat(requeried.get(1).hashCode(), is(snapshot.get(1).hashCode()));
+        assertThat(ListUtils.getDeletions(snapshot, requeried).size(), is(1));
+    }
+
+    @Test
+    public void testClosedSnapshotIsNotBound() {
+        ViewProvider<CursorSnapshot.Row<String>, View> provider = CursorSnapshot.wrap(new ViewProvider<String, View>() {
+            @Override
+            public int getViewType(String model) {
+                return model.length();
+            }
+
+            @Override
+            public Set<Integer> getViewTypes() {
+                return SetUtils.initSet(1);
+            }
+
+            @Override
+            public TypedViewHolder<String, View> create(LayoutInflater inflater, ViewGroup parent, int viewType) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        snapshot.close();
+        assertThat(snapshot.get(0).getModel(), is(nullValue()));
+        assertThat(provider.getViewType(snapshot.get(0)), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetRowOfAnotherSnapshot() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{"_id", "name"});
+        cursor.addRow(new Object[]{10L, "c"});
+        CursorSnapshot<String> other = new CursorSnapshot<>(cursor, nameOrm, "_id");
+        snapshot.set(0, other.get(0));
+    }
+}
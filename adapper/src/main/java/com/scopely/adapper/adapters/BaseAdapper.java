@@ -16,13 +16,17 @@
 
 package com.scopely.adapper.adapters;
 
+import android.os.Bundle;
 import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 
 import com.scopely.adapper.interfaces.Bidentifier;
+import com.scopely.adapper.interfaces.RestorableSelectionManager;
+import com.scopely.adapper.interfaces.ReverseIdentifier;
 import com.scopely.adapper.interfaces.SelectionManager;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 public abstract class BaseAdapper<Model, Holder extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<Holder> {
@@ -44,7 +48,10 @@ public abstract class BaseAdapper<Model, Holder extends RecyclerView.ViewHolder>
         registerAdapterDataObserver(adapterDatasetObserver);
     }
 
-    protected abstract Set<Integer> getViewTypes();
+    /**
+     * @return the set of every view type this Adapper can return from {@link #getItemViewType(int)}
+     */
+    public abstract Set<Integer> getViewTypes();
     public abstract Object getItem(int position);
     public abstract boolean isModel(int position);
 
@@ -59,6 +66,43 @@ public abstract class BaseAdapper<Model, Holder extends RecyclerView.ViewHolder>
         onBindViewHolder((Holder) holder, position);
     }
 
+    /**
+     * Rows whose only change is their selection state (see {@link SelectionManager#SELECTION_PAYLOAD}) are offered to {@link #onBindSelection(RecyclerView.ViewHolder, int)} first,
+     * and only fully rebound if that declines.
+     */
+    @Override
+    public void onBindViewHolder(Holder holder, int position, List<Object> payloads) {
+        if (isSelectionOnly(payloads) && onBindSelection(holder, position)) {
+            return;
+        }
+        onBindViewHolder(holder, position);
+    }
+
+    /**
+     * Updates only the selection state of the row at {@param position}.
+     * @return true if the row was updated, false if it needs to be fully rebound
+     */
+    public boolean onBindSelection(Holder holder, int position) {
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean onBindSelectionCast(RecyclerView.ViewHolder holder, int position) {
+        return onBindSelection((Holder) holder, position);
+    }
+
+    private static boolean isSelectionOnly(List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            return false;
+        }
+        for (Object payload : payloads) {
+            if (payload != SelectionManager.SELECTION_PAYLOAD) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * In older versions of Adapper, several of the Adappers overrode {@link #notifyDataSetChanged()} in order to do some processing on dataset changes.
      * {@link android.support.v7.widget.RecyclerView.Adapter} has made that method final, so we hook in here to get the appropriate callbacks.
@@ -66,34 +110,52 @@ public abstract class BaseAdapper<Model, Holder extends RecyclerView.ViewHolder>
     private final RecyclerView.AdapterDataObserver adapterDatasetObserver = new RecyclerView.AdapterDataObserver() {
         @Override
         public void onChanged() {
+            modificationCount++;
             BaseAdapper.this.onChanged();
         }
 
         @Override
         public void onItemRangeChanged(int positionStart, int itemCount) {
+            modificationCount++;
             BaseAdapper.this.onItemRangeChanged(positionStart, itemCount);
         }
 
         @Override
         public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            //A selection change only rebinds the item's selection state; any other payload may come with a change to the item itself
+            if (payload != SelectionManager.SELECTION_PAYLOAD) {
+                modificationCount++;
+            }
             BaseAdapper.this.onItemRangeChanged(positionStart, itemCount, payload);
         }
 
         @Override
         public void onItemRangeInserted(int positionStart, int itemCount) {
+            modificationCount++;
             BaseAdapper.this.onItemRangeInserted(positionStart, itemCount);
         }
 
         @Override
         public void onItemRangeRemoved(int positionStart, int itemCount) {
+            modificationCount++;
             BaseAdapper.this.onItemRangeRemoved(positionStart, itemCount);
         }
 
         @Override
         public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            modificationCount++;
             BaseAdapper.this.onItemRangeMoved(fromPosition, toPosition, itemCount);
         }
     };
+    private int modificationCount;
+
+    /**
+     * @return a number that changes whenever this Adapper is notified of a change to its items (other than a change of selection),
+     * so that anything derived from its items can tell whether it has to be derived again
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
 
     protected void onItemRangeChanged(int positionStart, int itemCount, Object payload) {}
 
@@ -128,6 +190,14 @@ public abstract class BaseAdapper<Model, Holder extends RecyclerView.ViewHolder>
         return selectionManager;
     }
 
+    /**
+     * @return the SelectionManager set on this Adapper, as opposed to the one handling any one position (see {@link #getSelectionManager(int)})
+     */
+    @Nullable
+    protected SelectionManager<? extends Model> getSelectionManager() {
+        return selectionManager;
+    }
+
     public BaseAdapper<Model, Holder> setSelectionManager(@Nullable SelectionManager<? extends Model> selectionManager) {
         this.selectionManager = selectionManager;
         return this;
@@ -153,6 +223,29 @@ public abstract class BaseAdapper<Model, Holder extends RecyclerView.ViewHolder>
         return bidentifier != null ? bidentifier.getId(position) : super.getItemId(position);
     }
 
+    /**
+     * @return the position of the item identified by {@param id}, or {@link RecyclerView#NO_POSITION} if it is not displayed.
+     * Scans every position unless the {@link Bidentifier} is a {@link ReverseIdentifier}.
+     */
+    public int getPosition(long id) {
+        if (bidentifier instanceof ReverseIdentifier) {
+            return ((ReverseIdentifier) bidentifier).getPosition(id);
+        }
+        for (int i = 0; i < getItemCount(); i++) {
+            if (getItemId(i) == id) {
+                return i;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * @return whether {@link #getPosition(long)} can find a position without scanning every position, which it can if the {@link Bidentifier} is a {@link ReverseIdentifier}
+     */
+    public boolean hasReverseIdentifier() {
+        return bidentifier instanceof ReverseIdentifier;
+    }
+
     @SuppressWarnings("unchecked")
     public Set<? extends Model> getSelections() {
         return selectionManager != null ? selectionManager.getSelections() : Collections.EMPTY_SET;
@@ -164,6 +257,24 @@ public abstract class BaseAdapper<Model, Holder extends RecyclerView.ViewHolder>
         }
     }
 
+    /**
+     * Saves the selections to {@param outState}, if the {@link SelectionManager} is a {@link RestorableSelectionManager}
+     */
+    public void onSaveInstanceState(Bundle outState) {
+        if (selectionManager instanceof RestorableSelectionManager) {
+            ((RestorableSelectionManager) selectionManager).onSaveInstanceState(outState);
+        }
+    }
+
+    /**
+     * Restores the selections saved by {@link #onSaveInstanceState(Bundle)}, if the {@link SelectionManager} is a {@link RestorableSelectionManager}
+     */
+    public void onRestoreInstanceState(@Nullable Bundle savedInstanceState) {
+        if (selectionManager instanceof RestorableSelectionManager) {
+            ((RestorableSelectionManager) selectionManager).onRestoreInstanceState(savedInstanceState);
+        }
+    }
+
     /**
      * A {@link SelectionManager} that delegates to an existing SelectionManager, but passes any inputted position through a conversion function before delegating it to the child SelectionManager.
      * Generally useful in Adappers that are composed of other Adappers, such as {@link RecursiveAdapper} or {@link GroupableAdapper}
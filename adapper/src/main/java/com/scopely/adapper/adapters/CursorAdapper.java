@@ -18,9 +18,15 @@ package com.scopely.adapper.adapters;
 
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.os.Build;
 import android.support.annotation.Nullable;
+import android.support.v4.os.CancellationSignal;
+import android.support.v4.os.OperationCanceledException;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.widget.RecyclerView;
 import android.text.TextUtils;
 import android.util.Log;
+import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -28,12 +34,21 @@ import android.widget.Filter;
 import android.widget.FilterQueryProvider;
 import android.widget.Filterable;
 
+import com.scopely.adapper.impls.Projection;
 import com.scopely.adapper.impls.TypedViewHolder;
 import com.scopely.adapper.interfaces.Bidentifier;
+import com.scopely.adapper.interfaces.DeferredFilter;
 import com.scopely.adapper.interfaces.MiniOrm;
+import com.scopely.adapper.interfaces.Prefetchable;
+import com.scopely.adapper.interfaces.ReverseIdentifier;
 import com.scopely.adapper.interfaces.ViewProvider;
+import com.scopely.adapper.utils.FtsUtils;
+import com.scopely.adapper.utils.LongIntHashMap;
+import com.scopely.adapper.utils.RowCache;
 import com.scopely.adapper.utils.SetUtils;
+import com.scopely.adapper.utils.ThreadUtils;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Set;
 
@@ -41,16 +56,48 @@ import static android.support.v7.widget.RecyclerView.NO_ID;
 
 /**
  * An Adapper that displays a {@link Cursor}
+ * Rows can be decoded ahead of time with {@link #prefetch(int, int)}, which only does anything given a {@link CursorIdentifier}
+ * and once a {@link FilterQueryProvider} is set, as it reads from a cursor of its own and checks it against the displayed ids.
  * @param <Model> The class of object which a single row maps to
  * @param <GenericView> The {@link View} class used to display the items in the list
  */
-public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<Model, TypedViewHolder<? super Model, ? extends GenericView>> implements Filterable {
+public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<Model, TypedViewHolder<? super Model, ? extends GenericView>> implements Filterable, Prefetchable {
+    public static final int DEFAULT_ROW_CACHE_SIZE = 50;
+
     @Nullable
     private Cursor cursor;
+    private volatile int generation;
+    @Nullable
+    private RowCache<Model> rowCache = new RowCache<>(DEFAULT_ROW_CACHE_SIZE);
+    private int rowCacheHits;
+    private int rowCacheMisses;
+    //Only used on the prefetch thread
+    @Nullable
+    private Cursor prefetchCursor;
+    private int prefetchGeneration;
     private final MiniOrm<Model> miniOrm;
     protected final ViewProvider<? super Model, ? extends GenericView> provider;
     private CursorFilter filter;
     private FilterQueryProvider filterQueryProvider;
+    @Nullable
+    private final CursorIdentifier identifier;
+    @Nullable
+    private final CursorBidentifier cursorBidentifier;
+    @Nullable
+    private CursorHasher hasher;
+    @Nullable
+    private RowSnapshot rowSnapshot;
+    @Nullable
+    private volatile CharSequence constraint;
+    private int requeryCount;
+    //Set while a requery's updates are dispatched, as they describe the cursor the row snapshot was read from rather than a change to it
+    private boolean dispatchingRequery;
+    private long filterDebounceMillis;
+    private int filterCount;
+    @Nullable
+    private CancellationSignal filterSignal;
+    @Nullable
+    private Runnable pendingFilter;
 
     public CursorAdapper(Cursor cursor, MiniOrm<Model> miniOrm, ViewProvider<? super Model, ? extends GenericView> provider) {
         this(cursor, null, null, miniOrm, provider);
@@ -60,37 +107,179 @@ public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<
         this.cursor = cursor;
         this.miniOrm = miniOrm;
         this.provider = provider;
+        this.identifier = identifier;
         if(identifier != null && lookup != null) {
-            setBidentifier(new Bidentifier<Model>() {
-                @Override
-                public Set<Model> getModels(Set<Long> ids) {
-                    return lookup.getModels(ids, CursorAdapper.this.miniOrm);
-                }
-
-                @Override
-                public long getId(int position) {
-                    return identifier.getId(position, CursorAdapper.this.getCursor());
-                }
-            });
+            cursorBidentifier = new CursorBidentifier(identifier, lookup);
+            setBidentifier(cursorBidentifier);
         } else {
+            cursorBidentifier = null;
             Log.w("Adapper", "CursorAdapper initialized without Bidentifier, selection functionality will not be available");
         }
     }
 
     @Override
-    protected Set<Integer> getViewTypes() {
+    public Set<Integer> getViewTypes() {
         return provider.getViewTypes();
     }
 
     @Override
     public Object getItem(int position) {
         if (cursor != null) {
+            RowCache<Model> rowCache = this.rowCache;
+            int generation = this.generation;
+            if (rowCache != null) {
+                Model cached = rowCache.get(generation, position);
+                if (cached != null) {
+                    rowCacheHits++;
+                    return cached;
+                }
+                rowCacheMisses++;
+            }
             cursor.moveToPosition(position);
-            return miniOrm.getObject(cursor);
+            Model model = miniOrm.getObject(cursor);
+            if (rowCache != null && model != null) {
+                rowCache.put(generation, position, model);
+            }
+            return model;
         }
         return null;
     }
 
+    /**
+     * Sets how many decoded models are kept, so that binding a row does not decode it once for {@link #getItemViewType(int)} and again for {@link #onBindViewHolder(TypedViewHolder, int)}.
+     * The same model instance is handed out until the row is evicted, the cursor is changed or the Adapper is notified of a change.
+     * Rows are kept by position (see {@link RowCache}), so the cache holds any {@param size} consecutive rows. A size of 0 disables the cache.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public CursorAdapper<Model, GenericView> setRowCacheSize(int size) {
+        rowCache = size > 0 ? new RowCache<Model>(size) : null;
+        rowCacheHits = 0;
+        rowCacheMisses = 0;
+        return this;
+    }
+
+    /**
+     * @return how many times a model was found in the row cache since it was last sized
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public int getRowCacheHits() {
+        return rowCacheHits;
+    }
+
+    /**
+     * @return how many times a model had to be decoded from the cursor since the row cache was last sized
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public int getRowCacheMisses() {
+        return rowCacheMisses;
+    }
+
+    /**
+     * Decodes the rows from {@param start} to {@param end} into the row cache on a background thread, so that binding them later is a cache hit.
+     * The background thread reads from its own cursor, obtained from the {@link FilterQueryProvider} for the constraint last filtered by,
+     * so the current cursor is never moved off the main thread. As that cursor is queried afresh, each of its rows is only cached if its id
+     * matches the id of the displayed row at the same position, and prefetching stops at the first that does not.
+     * The displayed ids are those read on a background thread by the query that produced the current cursor (a {@link #requery()}, or filtering),
+     * or since read for selection; until they are available, this does nothing rather than walk the current cursor on the main thread.
+     * Without a FilterQueryProvider or a {@link CursorIdentifier}, or with the row cache disabled, does nothing.
+     * The {@link MiniOrm} must be safe to call from a background thread (as {@link com.scopely.adapper.impls.ProjectionMiniOrm} is).
+     * Typically driven by a {@link com.scopely.adapper.extras.PrefetchScrollListener}; the range should be well within the size of the row cache.
+     */
+    @Override
+    public void prefetch(int start, int end) {
+        final RowCache<Model> rowCache = this.rowCache;
+        final FilterQueryProvider filterQueryProvider = this.filterQueryProvider;
+        final CursorIdentifier identifier = this.identifier;
+        final int first = Math.max(start, 0);
+        final int last = Math.min(end, getItemCount() - 1);
+        if (rowCache == null || filterQueryProvider == null || identifier == null || first > last) {
+            return;
+        }
+        final int generation = this.generation;
+        final CharSequence constraint = this.constraint;
+        final RowSnapshot rows = rowSnapshot;
+        if (rows == null || rows.generation != generation) {
+            return;
+        }
+        final long[] ids = rows.ids;
+        ThreadUtils.runPrefetch(new Runnable() {
+            @Override
+            public void run() {
+                Cursor cursor = getPrefetchCursor(generation, filterQueryProvider, constraint);
+                if (cursor == null || cursor.getCount() != ids.length) {
+                    return;
+                }
+                for (int position = first; position <= last && generation == CursorAdapper.this.generation; position++) {
+                    if (rowCache.get(generation, position) != null) {
+                        continue;
+                    }
+                    //The data changed since the displayed cursor was queried; what follows cannot be trusted either
+                    if (identifier.getId(position, cursor) != ids[position]) {
+                        return;
+                    }
+                    if (cursor.moveToPosition(position)) {
+                        Model model = miniOrm.getObject(cursor);
+                        if (model != null) {
+                            rowCache.put(generation, position, model);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    @Nullable
+    private Cursor getPrefetchCursor(int generation, FilterQueryProvider filterQueryProvider, CharSequence constraint) {
+        if (prefetchCursor != null && prefetchGeneration != generation) {
+            prefetchCursor.close();
+            prefetchCursor = null;
+        }
+        if (prefetchCursor == null && generation == this.generation) {
+            prefetchCursor = filterQueryProvider.runQuery(constraint);
+            prefetchGeneration = generation;
+        }
+        return prefetchCursor;
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        ThreadUtils.runPrefetch(new Runnable() {
+            @Override
+            public void run() {
+                if (prefetchCursor != null) {
+                    prefetchCursor.close();
+                    prefetchCursor = null;
+                }
+            }
+        });
+    }
+
+    @Override
+    protected void onChanged() {
+        //Rows may have moved, so anything decoded for the previous positions is discarded, including by prefetches in progress
+        if (!dispatchingRequery) {
+            generation++;
+        }
+        if (rowCache != null) {
+            rowCache.clear();
+        }
+    }
+
+    @Override
+    protected void onItemRangeChanged(int positionStart, int itemCount) {
+        onItemRangeChanged(positionStart, itemCount, null);
+    }
+
+    @Override
+    protected void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+        RowCache<Model> rowCache = this.rowCache;
+        //A payload signals a partial rebind of the same row, which does not require decoding it again
+        if (rowCache != null && payload == null) {
+            rowCache.remove(positionStart, itemCount);
+        }
+    }
+
     @Override
     public boolean isModel(int position) {
         return true;
@@ -116,18 +305,163 @@ public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<
         holder.bind(getModel(position), position, getSelectionManager(position));
     }
 
+    @Override
+    public boolean onBindSelection(TypedViewHolder<? super Model, ? extends GenericView> holder, int position) {
+        return holder.bindSelection(position, getSelectionManager(position));
+    }
+
     @Override
     public int getItemCount() {
         return cursor != null ? cursor.getCount() : 0;
     }
 
     public void changeCursor(Cursor cursor) {
+        changeCursor(cursor, null);
+    }
+
+    /**
+     * Swaps in {@param cursor} along with its {@param rows}, if they were read on a background thread, so that they need not be read on the main thread
+     */
+    private void changeCursor(Cursor cursor, @Nullable RowSnapshot rows) {
         Cursor oldCursor = this.cursor;
         this.cursor = cursor;
+        generation++;
         if (oldCursor != null) {
             oldCursor.close();
         }
         notifyDataSetChanged();
+        if (rows != null) {
+            rows.generation = generation;
+            rowSnapshot = rows;
+        }
+    }
+
+    /**
+     * Reads the rows of {@param cursor}, which the calling background thread must not have handed over yet, if they can be identified
+     */
+    @Nullable
+    private RowSnapshot readRows(Cursor cursor) {
+        return identifier != null ? RowSnapshot.read(cursor, identifier, hasher) : null;
+    }
+
+    /**
+     * Runs the query of the {@link FilterQueryProvider} again, for the constraint last filtered by, on a background thread.
+     * The new cursor replaces the current one once it is ready, with rows matched up by id, so that RecyclerView is notified of (and animates)
+     * exactly the rows inserted, removed and moved. Rows present in both cursors are notified as changed unless a {@link CursorHasher} is set
+     * and reports their content as unchanged. The old cursor is closed after the notifications have been dispatched.
+     * Without a {@link CursorIdentifier}, rows cannot be matched up, and the new cursor is swapped in as by {@link #changeCursor(Cursor)}.
+     * A requery is abandoned (and its cursor closed) if the cursor is changed, or another requery is started, before it completes.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public void requery() {
+        if (filterQueryProvider == null) {
+            return;
+        }
+        final int requery = ++requeryCount;
+        final int generation = this.generation;
+        final CharSequence constraint = this.constraint;
+        final CursorIdentifier identifier = this.identifier;
+        final CursorHasher hasher = this.hasher;
+        //The old cursor can only be read here, as the main thread may move it at any time. After a requery its rows were already read
+        //on the background thread, so this only walks the cursor the first time round, or after the cursor or hasher has changed
+        final RowSnapshot old = identifier != null ? getRowSnapshot(identifier, hasher) : null;
+        ThreadUtils.runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                final Cursor newCursor = filterQueryProvider.runQuery(constraint);
+                final DiffUtil.DiffResult diff;
+                final RowSnapshot rows;
+                if (newCursor != null && old != null) {
+                    rows = RowSnapshot.read(newCursor, identifier, hasher);
+                    final long[] oldIds = old.ids;
+                    final int[] oldHashes = old.hashes;
+                    final long[] newIds = rows.ids;
+                    final int[] newHashes = rows.hashes;
+                    diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                        @Override
+                        public int getOldListSize() {
+                            return oldIds.length;
+                        }
+
+                        @Override
+                        public int getNewListSize() {
+                            return newIds.length;
+                        }
+
+                        @Override
+                        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                            return oldIds[oldItemPosition] == newIds[newItemPosition];
+                        }
+
+                        @Override
+                        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                            return oldHashes != null && newHashes != null && oldHashes[oldItemPosition] == newHashes[newItemPosition];
+                        }
+                    }, true);
+                } else {
+                    diff = null;
+                    rows = null;
+                }
+                ThreadUtils.postToMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        onRequeried(requery, generation, newCursor, diff, rows);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onRequeried(int requery, int generation, @Nullable Cursor newCursor, @Nullable DiffUtil.DiffResult diff, @Nullable RowSnapshot rows) {
+        if (requery != requeryCount || generation != this.generation) {
+            if (newCursor != null) {
+                newCursor.close();
+            }
+            return;
+        }
+        if (newCursor == null || diff == null || rows == null) {
+            if (newCursor != null && newCursor != cursor) {
+                changeCursor(newCursor);
+            }
+            return;
+        }
+        Cursor oldCursor = this.cursor;
+        this.cursor = newCursor;
+        this.generation++;
+        rows.generation = this.generation;
+        this.rowSnapshot = rows;
+        dispatchingRequery = true;
+        try {
+            diff.dispatchUpdatesTo(this);
+        } finally {
+            dispatchingRequery = false;
+        }
+        if (oldCursor != null && oldCursor != newCursor) {
+            oldCursor.close();
+        }
+    }
+
+    /**
+     * @return the ids of the rows of the current cursor, along with their hashes if {@param hasher} is not null,
+     * reading them from the cursor only if they have not been read since it changed
+     */
+    private RowSnapshot getRowSnapshot(CursorIdentifier identifier, @Nullable CursorHasher hasher) {
+        RowSnapshot snapshot = rowSnapshot;
+        if (snapshot == null || snapshot.generation != generation || (hasher != null && snapshot.hasher != hasher)) {
+            snapshot = RowSnapshot.read(cursor, identifier, hasher);
+            snapshot.generation = generation;
+            rowSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Sets the hasher {@link #requery()} uses to tell whether a row present in both the old and the new cursor has changed.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public CursorAdapper<Model, GenericView> setCursorHasher(@Nullable CursorHasher hasher) {
+        this.hasher = hasher;
+        return this;
     }
 
     public Filter getFilter() {
@@ -146,23 +480,167 @@ public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<
         this.filterQueryProvider = filterQueryProvider;
     }
 
+    /**
+     * When greater than 0, filtering with {@link #getFilter()} waits until the constraint has not changed for {@param filterDebounceMillis}
+     * before running a query, so that typing a word runs one query rather than one per keystroke.
+     * Starting a query cancels the previous one if it is still running (if the {@link FilterQueryProvider} is a {@link CancellableQueryProvider}),
+     * and a cursor that is no longer the result of the latest query when it arrives is closed rather than displayed.
+     * Note that the query then completes after the {@link Filter} itself has published its results; the Filter is a {@link DeferredFilter},
+     * through which the composite Filter of an enclosing {@link RecursiveAdapper} is told when the new cursor is swapped in.
+     * A query that fails is logged and leaves the current cursor displayed.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public CursorAdapper<Model, GenericView> setFilterDebounce(long filterDebounceMillis) {
+        this.filterDebounceMillis = filterDebounceMillis;
+        return this;
+    }
+
+    private void scheduleFilter(final CharSequence constraint) {
+        final int filter = ++filterCount;
+        if (filterSignal != null) {
+            filterSignal.cancel();
+            filterSignal = null;
+        }
+        if (pendingFilter != null) {
+            ThreadUtils.removeFromMain(pendingFilter);
+        }
+        pendingFilter = new Runnable() {
+            @Override
+            public void run() {
+                pendingFilter = null;
+                runFilter(filter, constraint);
+            }
+        };
+        ThreadUtils.postToMainDelayed(pendingFilter, filterDebounceMillis);
+    }
 
-    private static class CursorFilter extends Filter {
+    private void runFilter(final int filter, final CharSequence constraint) {
+        final FilterQueryProvider filterQueryProvider = this.filterQueryProvider;
+        if (filterQueryProvider == null) {
+            return;
+        }
+        final CancellationSignal signal = new CancellationSignal();
+        filterSignal = signal;
+        ThreadUtils.runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                if (signal.isCanceled()) {
+                    return;
+                }
+                Cursor cursor = null;
+                RowSnapshot rows = null;
+                try {
+                    cursor = runQuery(filterQueryProvider, constraint, signal);
+                    if (cursor != null) {
+                        //SQLite only runs the query when the cursor is first counted, so this must happen here, while the signal can still cancel it,
+                        //rather than on the main thread when the cursor is swapped in
+                        cursor.getCount();
+                        if (signal.isCanceled()) {
+                            cursor.close();
+                            return;
+                        }
+                        rows = readRows(cursor);
+                    }
+                } catch (OperationCanceledException e) {
+                    closeQuietly(cursor);
+                    return;
+                } catch (RuntimeException e) {
+                    closeQuietly(cursor);
+                    //Cancelled SQLite queries throw the framework's OperationCanceledException, which only exists from API 16
+                    if (!signal.isCanceled()) {
+                        //Rethrowing here would take down the process from a thread nobody is watching
+                        Log.e("Adapper", "Filter query failed", e);
+                        ThreadUtils.postToMain(new Runnable() {
+                            @Override
+                            public void run() {
+                                onFilterFailed(filter);
+                            }
+                        });
+                    }
+                    return;
+                }
+                final Cursor result = cursor;
+                final RowSnapshot resultRows = rows;
+                ThreadUtils.postToMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        onFiltered(filter, constraint, result, resultRows);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onFiltered(int filter, CharSequence constraint, @Nullable Cursor cursor, @Nullable RowSnapshot rows) {
+        if (filter != filterCount) {
+            if (cursor != null && cursor != this.cursor) {
+                cursor.close();
+            }
+            return;
+        }
+        filterSignal = null;
+        this.constraint = constraint;
+        if (cursor != null && cursor != this.cursor) {
+            changeCursor(cursor, rows);
+            Runnable listener = this.filter != null ? this.filter.deferredResultsListener : null;
+            if (listener != null) {
+                listener.run();
+            }
+        }
+    }
+
+    private void onFilterFailed(int filter) {
+        if (filter == filterCount) {
+            filterSignal = null;
+        }
+    }
+
+    private static void closeQuietly(@Nullable Cursor cursor) {
+        if (cursor != null && !cursor.isClosed()) {
+            cursor.close();
+        }
+    }
+
+    private static Cursor runQuery(FilterQueryProvider filterQueryProvider, CharSequence constraint, @Nullable CancellationSignal signal) {
+        if (signal != null && filterQueryProvider instanceof CancellableQueryProvider) {
+            return ((CancellableQueryProvider) filterQueryProvider).runQuery(constraint, signal);
+        }
+        return filterQueryProvider.runQuery(constraint);
+    }
+
+
+    private static class CursorFilter extends Filter implements DeferredFilter {
+        private static final Object DEBOUNCED = new Object();
 
         private final CursorAdapper adapper;
+        @Nullable
+        private Runnable deferredResultsListener;
 
         public CursorFilter(CursorAdapper adapper) {
             this.adapper = adapper;
         }
 
+        @Override
+        public void setDeferredResultsListener(@Nullable Runnable listener) {
+            this.deferredResultsListener = listener;
+        }
+
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
+            FilterResults results = new FilterResults();
+            if (adapper.filterDebounceMillis > 0) {
+                //The query is left to publishResults to schedule, as only the main thread sees every constraint as it arrives
+                results.count = 0;
+                results.values = DEBOUNCED;
+                return results;
+            }
+
+            adapper.constraint = constraint;
             Cursor cursor = adapper.runQueryOnBackgroundThread(constraint);
 
-            FilterResults results = new FilterResults();
             if (cursor != null) {
                 results.count = cursor.getCount();
-                results.values = cursor;
+                results.values = new FilteredCursor(cursor, cursor != adapper.getCursor() ? adapper.readRows(cursor) : null);
             } else {
                 results.count = 0;
                 results.values = null;
@@ -172,14 +650,33 @@ public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<
 
         @Override
         protected void publishResults(CharSequence constraint, FilterResults results) {
+            if (results.values == DEBOUNCED) {
+                adapper.scheduleFilter(constraint);
+                return;
+            }
             Cursor oldCursor = adapper.getCursor();
 
-            if (results.values != null && results.values != oldCursor) {
-                adapper.changeCursor((Cursor) results.values);
+            FilteredCursor filtered = (FilteredCursor) results.values;
+            if (filtered != null && filtered.cursor != oldCursor) {
+                adapper.changeCursor(filtered.cursor, filtered.rows);
             }
         }
     }
 
+    /**
+     * A cursor from filtering, along with its rows, read on the filtering thread
+     */
+    private static class FilteredCursor {
+        final Cursor cursor;
+        @Nullable
+        final RowSnapshot rows;
+
+        FilteredCursor(Cursor cursor, @Nullable RowSnapshot rows) {
+            this.cursor = cursor;
+            this.rows = rows;
+        }
+    }
+
     private Cursor runQueryOnBackgroundThread(CharSequence constraint) {
         if (filterQueryProvider != null) {
             return filterQueryProvider.runQuery(constraint);
@@ -188,6 +685,188 @@ public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<
         return cursor;
     }
 
+    /**
+     * The id of every row of a cursor, and the hash of every row if read with a {@link CursorHasher}, read in a single pass.
+     * The arrays are never modified once read, so a snapshot can be handed to another thread.
+     */
+    private static class RowSnapshot {
+        final long[] ids;
+        @Nullable
+        final int[] hashes;
+        @Nullable
+        final CursorHasher hasher;
+        //The generation of the cursor the rows were read from, only used on the main thread
+        int generation;
+
+        private RowSnapshot(long[] ids, @Nullable int[] hashes, @Nullable CursorHasher hasher) {
+            this.ids = ids;
+            this.hashes = hashes;
+            this.hasher = hasher;
+        }
+
+        /**
+         * Reads the rows of {@param cursor}, leaving it at the position it was at.
+         */
+        static RowSnapshot read(@Nullable Cursor cursor, CursorIdentifier identifier, @Nullable CursorHasher hasher) {
+            int count = cursor != null ? cursor.getCount() : 0;
+            long[] ids = new long[count];
+            int[] hashes = hasher != null ? new int[count] : null;
+            if (count > 0) {
+                int position = cursor.getPosition();
+                for (int i = 0; i < count; i++) {
+                    ids[i] = identifier.getId(i, cursor);
+                    if (hashes != null) {
+                        cursor.moveToPosition(i);
+                        hashes[i] = hasher.getHash(cursor);
+                    }
+                }
+                cursor.moveToPosition(position);
+            }
+            return new RowSnapshot(ids, hashes, hasher);
+        }
+    }
+
+    /**
+     * Identifies rows from a snapshot of the ids of every row of the current cursor, along with an index from id back to position.
+     * The snapshot is the one {@link #requery()} read on the background thread, or is taken in a single pass over the cursor
+     * the first time an id or position is asked for after the cursor changes otherwise,
+     * after which neither lookup touches the cursor, so RecyclerView and selection can ask for ids as often as they like.
+     */
+    private class CursorBidentifier implements Bidentifier<Model>, ReverseIdentifier {
+        private final CursorIdentifier identifier;
+        private final CursorLookup<Model> lookup;
+        @Nullable
+        private long[] ids;
+        private final LongIntHashMap positions = new LongIntHashMap();
+
+        CursorBidentifier(CursorIdentifier identifier, CursorLookup<Model> lookup) {
+            this.identifier = identifier;
+            this.lookup = lookup;
+        }
+
+        @Override
+        public Set<Model> getModels(Set<Long> ids) {
+            return lookup.getModels(ids, miniOrm);
+        }
+
+        @Override
+        public long getId(int position) {
+            long[] ids = getIds();
+            return position >= 0 && position < ids.length ? ids[position] : NO_ID;
+        }
+
+        @Override
+        public int getPosition(long id) {
+            getIds();
+            return positions.get(id, RecyclerView.NO_POSITION);
+        }
+
+        private long[] getIds() {
+            long[] snapshot = getRowSnapshot(identifier, null).ids;
+            if (ids != snapshot) {
+                ids = snapshot;
+                positions.clear();
+                for (int i = 0; i < ids.length; i++) {
+                    //Where ids collide, the first position wins
+                    positions.putIfAbsent(ids[i], i);
+                }
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * A {@link FilterQueryProvider} whose queries can be cancelled once they have been superseded by a newer constraint.
+     * Implementations backed by a {@link SQLiteDatabase} can pass {@link CancellationSignal#getCancellationSignalObject()} on to its query methods on API 16 and above.
+     */
+    public interface CancellableQueryProvider extends FilterQueryProvider {
+        /**
+         * @throws OperationCanceledException if {@param signal} is cancelled while the query is running
+         */
+        Cursor runQuery(CharSequence constraint, CancellationSignal signal);
+    }
+
+    /**
+     * A {@link CancellableQueryProvider} that filters the rows of a table by full-text search, rather than by scanning them with LIKE.
+     * Searches a mirror of the chosen columns held in an FTS4 table, named after the table with an "_fts" suffix and kept in sync by triggers,
+     * which {@link #createIndex()} creates (and fills) if it does not exist yet. The table has to be an ordinary table with rowids.
+     * A constraint matches the rows containing every word in it, with each word matched as a prefix; see {@link FtsUtils#toMatchQuery(CharSequence)}.
+     */
+    public static class FtsQueryProvider implements CancellableQueryProvider {
+        private final SQLiteDatabase db;
+        private final String tableName;
+        private final String ftsTableName;
+        private final String[] indexedColumns;
+        @Nullable
+        private final String[] columns;
+        @Nullable
+        private final String orderBy;
+
+        /**
+         * @param indexedColumns the columns searched
+         * @param columns the columns returned, or null for all of them
+         */
+        public FtsQueryProvider(SQLiteDatabase db, String tableName, String[] indexedColumns, @Nullable String[] columns, @Nullable String orderBy) {
+            this.db = db;
+            this.tableName = tableName;
+            this.ftsTableName = tableName + "_fts";
+            this.indexedColumns = indexedColumns;
+            this.columns = columns;
+            this.orderBy = orderBy;
+        }
+
+        /**
+         * Creates the FTS table and the triggers that keep it in sync with the table, unless they already exist, in which case this does nothing.
+         * Newly created, the FTS table is filled from the existing rows, which takes a while for a large table; call it off the main thread.
+         * Requires a writable database.
+         */
+        public void createIndex() {
+            String columnList = TextUtils.join(", ", indexedColumns);
+            String newValues = "new." + TextUtils.join(", new.", indexedColumns);
+            db.beginTransaction();
+            try {
+                Cursor existing = db.rawQuery("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?", new String[]{ftsTableName});
+                boolean exists;
+                try {
+                    exists = existing.moveToFirst();
+                } finally {
+                    existing.close();
+                }
+                if (!exists) {
+                    db.execSQL("CREATE VIRTUAL TABLE " + ftsTableName + " USING fts4(" + columnList + ")");
+                    db.execSQL("INSERT INTO " + ftsTableName + "(docid, " + columnList + ") SELECT rowid, " + columnList + " FROM " + tableName);
+                    db.execSQL("CREATE TRIGGER IF NOT EXISTS " + ftsTableName + "_ai AFTER INSERT ON " + tableName
+                            + " BEGIN INSERT INTO " + ftsTableName + "(docid, " + columnList + ") VALUES (new.rowid, " + newValues + "); END");
+                    db.execSQL("CREATE TRIGGER IF NOT EXISTS " + ftsTableName + "_bd BEFORE DELETE ON " + tableName
+                            + " BEGIN DELETE FROM " + ftsTableName + " WHERE docid = old.rowid; END");
+                    db.execSQL("CREATE TRIGGER IF NOT EXISTS " + ftsTableName + "_au AFTER UPDATE ON " + tableName
+                            + " BEGIN DELETE FROM " + ftsTableName + " WHERE docid = old.rowid;"
+                            + " INSERT INTO " + ftsTableName + "(docid, " + columnList + ") VALUES (new.rowid, " + newValues + "); END");
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+
+        @Override
+        public Cursor runQuery(CharSequence constraint) {
+            return runQuery(constraint, null);
+        }
+
+        @Override
+        public Cursor runQuery(CharSequence constraint, @Nullable CancellationSignal signal) {
+            String match = FtsUtils.toMatchQuery(constraint);
+            String selection = match != null ? "rowid IN (SELECT docid FROM " + ftsTableName + " WHERE " + ftsTableName + " MATCH ?)" : null;
+            String[] selectionArgs = match != null ? new String[]{match} : null;
+            if (signal != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                return db.query(false, tableName, columns, selection, selectionArgs, null, null, orderBy, null,
+                        (android.os.CancellationSignal) signal.getCancellationSignalObject());
+            }
+            return db.query(tableName, columns, selection, selectionArgs, null, null, orderBy);
+        }
+    }
+
     /**
      * A class to which an instance of {@link com.scopely.adapper.interfaces.Identifier} will delegate, passing an additional {@link Cursor}
      */
@@ -202,11 +881,42 @@ public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<
         Set<T> getModels(Set<Long> ids, MiniOrm<T> miniOrm);
     }
 
+    /**
+     * Hashes the content of the row a {@link Cursor} is positioned at, so that rows can be compared across cursors without being decoded.
+     * Should only read the columns that affect how the row is displayed.
+     */
+    public interface CursorHasher {
+        int getHash(Cursor cursor);
+    }
+
+    /**
+     * A {@link CursorHasher} implementation that hashes the values of the given text or numeric columns
+     */
+    public static class ColumnHasher implements CursorHasher {
+        private final String[] columnNames;
+
+        public ColumnHasher(String... columnNames) {
+            this.columnNames = columnNames;
+        }
+
+        @Override
+        public int getHash(Cursor cursor) {
+            int hash = 1;
+            for (String columnName : columnNames) {
+                int index = cursor.getColumnIndex(columnName);
+                String value = index >= 0 ? cursor.getString(index) : null;
+                hash = 31 * hash + (value != null ? value.hashCode() : 0);
+            }
+            return hash;
+        }
+    }
+
     /**
      * A {@link CursorIdentifier} implementation that returns the value of a given column as an ID
      */
     public static class ColumnIdentifier implements CursorIdentifier {
         private final String columnName;
+        private volatile Projection projection;
 
         public ColumnIdentifier(String columnName) {
             this.columnName = columnName;
@@ -215,8 +925,13 @@ public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<
         @Override
         public long getId(int position, Cursor cursor) {
             if(cursor != null) {
+                Projection projection = this.projection;
+                if(projection == null || !projection.isFor(cursor)) {
+                    projection = Projection.resolve(cursor, columnName);
+                    this.projection = projection;
+                }
                 cursor.moveToPosition(position);
-                return cursor.getLong(cursor.getColumnIndex(columnName));
+                return projection.getLong(cursor, 0);
             } else {
                 return NO_ID;
             }
@@ -224,13 +939,20 @@ public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<
     }
 
     /**
-     * A {@link CursorLookup} implementation that searches for ids in a given column of a given {@link SQLiteDatabase}
+     * A {@link CursorLookup} implementation that searches for ids in a given column of a given {@link SQLiteDatabase}.
+     * Ids are looked up in chunks, each padded to one of a few fixed sizes, so that any number of ids stays within SQLite's limit on bound variables,
+     * and so that the same few SQL statements recur and can be reused from the connection's statement cache rather than compiled on every lookup.
      * @param <T> The type of the object represented by a row in the database
      */
     public static class ColumnLookup<T> implements CursorLookup<T> {
+        //SQLite allows 999 bound variables per statement unless compiled otherwise
+        static final int MAX_CHUNK_SIZE = 512;
+        private static final int MIN_CHUNK_SIZE = 8;
+
         private final String columnName;
         private final String tableName;
         private final SQLiteDatabase db;
+        private final SparseArray<String> sqlByChunkSize = new SparseArray<>();
 
         public ColumnLookup(SQLiteDatabase db, String tableName, String columnName) {
             this.columnName = columnName;
@@ -241,21 +963,58 @@ public class CursorAdapper<Model, GenericView extends View> extends BaseAdapper<
         @Override
         public Set<T> getModels(Set<Long> ids, MiniOrm<T> miniOrm) {
             if(ids.isEmpty()) return Collections.EMPTY_SET;
-            String[] params = new String[ids.size()];
+            Set<T> set = SetUtils.newSet(ids.size());
+            String[] params = null;
             int count = 0;
+            int remaining = ids.size();
             for(Long id : ids) {
-                params[count] = id.toString();
-                count++;
-            }
-            Cursor results = db.query(tableName, null, columnName + " IN (" + TextUtils.join(",", Collections.nCopies(ids.size(), "?")) + ")", params, null, null, null);
-            int resultsCount = results.getCount();
-            Set<T> set = SetUtils.newSet(resultsCount);
-            for(int i = 0; i < resultsCount; i++) {
-                results.moveToPosition(i);
-                set.add(miniOrm.getObject(results));
+                if(params == null) {
+                    params = new String[getChunkSize(remaining)];
+                }
+                params[count++] = id.toString();
+                remaining--;
+                if(count == params.length || remaining == 0) {
+                    //Padding repeats the last id, which matches no additional rows
+                    Arrays.fill(params, count, params.length, params[count - 1]);
+                    query(params, miniOrm, set);
+                    params = null;
+                    count = 0;
+                }
             }
             return set;
         }
 
+        private void query(String[] params, MiniOrm<T> miniOrm, Set<T> set) {
+            Cursor results = db.rawQuery(getSql(params.length), params);
+            try {
+                while(results.moveToNext()) {
+                    set.add(miniOrm.getObject(results));
+                }
+            } finally {
+                results.close();
+            }
+        }
+
+        private String getSql(int chunkSize) {
+            synchronized (sqlByChunkSize) {
+                String sql = sqlByChunkSize.get(chunkSize);
+                if(sql == null) {
+                    sql = "SELECT * FROM " + tableName + " WHERE " + columnName + " IN (" + TextUtils.join(",", Collections.nCopies(chunkSize, "?")) + ")";
+                    sqlByChunkSize.put(chunkSize, sql);
+                }
+                return sql;
+            }
+        }
+
+        /**
+         * @return the smallest power of two that fits {@param remaining} ids, between {@link #MIN_CHUNK_SIZE} and {@link #MAX_CHUNK_SIZE}
+         */
+        static int getChunkSize(int remaining) {
+            int size = MIN_CHUNK_SIZE;
+            while(size < remaining && size < MAX_CHUNK_SIZE) {
+                size <<= 1;
+            }
+            return size;
+        }
     }
 }
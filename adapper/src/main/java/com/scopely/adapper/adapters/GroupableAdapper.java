@@ -28,10 +28,14 @@ import android.widget.Filter;
 import android.widget.Filterable;
 
 import com.scopely.adapper.interfaces.Bidentifier;
+import com.scopely.adapper.interfaces.BulkSelectionManager;
 import com.scopely.adapper.interfaces.FilterFunction;
 import com.scopely.adapper.interfaces.GroupComparator;
 import com.scopely.adapper.interfaces.GroupPositionIdentifier;
+import com.scopely.adapper.interfaces.ObservableSelectionManager;
 import com.scopely.adapper.interfaces.Reorderable;
+import com.scopely.adapper.interfaces.ReverseIdentifier;
+import com.scopely.adapper.interfaces.SelectionListener;
 import com.scopely.adapper.interfaces.SelectionManager;
 import com.scopely.adapper.interfaces.ViewProvider;
 import com.scopely.adapper.utils.CompositeFilter;
@@ -60,6 +64,40 @@ public class GroupableAdapper<Model, ModelView extends View, Category, CategoryV
     private final Set<Integer> layouts;
     private List<Integer> categoryPositions;
 
+    public static final int GROUP_SELECTION_NONE = 0;
+    public static final int GROUP_SELECTION_SOME = 1;
+    public static final int GROUP_SELECTION_ALL = 2;
+
+    @Nullable
+    private int[] groupSelectedCounts; //the number of selected items in each group, or null if they need counting again
+    private final SelectionListener groupSelectionCounter = new SelectionListener() {
+        @Override
+        public void onSelectionChanged(long[] added, long[] removed) {
+            if (groupSelectedCounts == null) {
+                return;
+            }
+            if (groupSelectedCounts.length != categoryPositions.size()) {
+                //The groups changed since the counts were taken; counting again includes this change, so it must not be applied on top
+                groupSelectedCounts = null;
+                return;
+            }
+            SparseIntArray statesBefore = new SparseIntArray();
+            countSelectionChanges(added, 1, statesBefore);
+            countSelectionChanges(removed, -1, statesBefore);
+            for (int i = 0; i < statesBefore.size(); i++) {
+                int group = statesBefore.keyAt(i);
+                if (getGroupSelectionState(group) != statesBefore.valueAt(i)) {
+                    notifyItemChanged(categoryIndextoSuperPosition(group, categoryPositions), SelectionManager.SELECTION_PAYLOAD);
+                }
+            }
+        }
+
+        @Override
+        public void onSelectionReset() {
+            groupSelectedCounts = null;
+        }
+    };
+
     public GroupableAdapper(final List<? extends Model> list,
                             ViewProvider<? super Model, ? extends ModelView> provider,
                             final GroupComparator<Model, Category> comparator,
@@ -106,6 +144,7 @@ public class GroupableAdapper<Model, ModelView extends View, Category, CategoryV
     protected void onChanged() {
         internalListAdapter.notifyDataSetChanged();
         categoryPositions = generateCategoryPositions(internalListAdapter.getVisibleList(), comparator);
+        groupSelectedCounts = null;
         internalCategoryAdapter.notifyDataSetChanged();
     }
 
@@ -208,6 +247,12 @@ public class GroupableAdapper<Model, ModelView extends View, Category, CategoryV
         pair.second.onBindViewHolder(holder, pair.first);
     }
 
+    @Override
+    public boolean onBindSelection(RecyclerView.ViewHolder holder, int position) {
+        Pair<Integer, BaseAdapper> pair = getDelegate(position, categoryPositions);
+        return pair.second.onBindSelectionCast(holder, pair.first);
+    }
+
     @Override
     public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
         BaseAdapper adapper = getAdapperForViewType(viewType);
@@ -240,45 +285,57 @@ public class GroupableAdapper<Model, ModelView extends View, Category, CategoryV
      * -2 => categoryPositions[1]
      * etc
      */
-    private static int superPositionToIndex(int position, List<Integer> categoryPositions) {
-        if(categoryPositions.isEmpty()) {
-            return position;
-        }
-        for (int i = 0; i < categoryPositions.size() - 1; i++) {
-            if (categoryPositions.get(i) + i == position) {
-                return -(i + 1);
-            }
-            for (int j = categoryPositions.get(i); j < categoryPositions.get(i + 1); j++) {
-                if (j + i + 1 == position) {
-                    return j;
-                }
+    static int superPositionToIndex(int position, List<Integer> categoryPositions) {
+        //The header of group i is at categoryPositions[i] + i, so find the last header at or before the position
+        int low = 0;
+        int high = categoryPositions.size() - 1;
+        int group = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (categoryPositions.get(mid) + mid <= position) {
+                group = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
             }
         }
-        if (position == categoryPositions.get(categoryPositions.size() - 1) + categoryPositions.size() - 1) {
-            return -categoryPositions.size();
-        } else {
-            return position - categoryPositions.size();
+        if (group == -1) {
+            return position;
+        }
+        if (categoryPositions.get(group) + group == position) {
+            return -(group + 1);
         }
+        return position - group - 1;
     }
 
     public int listIndexToSuperPosition(int index) {
         return listIndextoSuperPosition(index, categoryPositions);
     }
 
-    private static int listIndextoSuperPosition(int index, List<Integer> categoryPositions) {
-        int position = index;
-        for(Integer integer : categoryPositions) {
-            if(integer <= index) {
-                position++;
+    static int listIndextoSuperPosition(int index, List<Integer> categoryPositions) {
+        return index + getGroupIndex(index, categoryPositions) + 1;
+    }
+
+    /**
+     * @return the index of the group that the item at {@param index} in the item list belongs to, or -1 if there are no groups
+     */
+    static int getGroupIndex(int index, List<Integer> categoryPositions) {
+        int low = 0;
+        int high = categoryPositions.size() - 1;
+        int group = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (categoryPositions.get(mid) <= index) {
+                group = mid;
+                low = mid + 1;
             } else {
-                break;
+                high = mid - 1;
             }
         }
-        return position;
-
+        return group;
     }
 
-    private static int categoryIndextoSuperPosition(int index, List<Integer> categoryPositions) {
+    static int categoryIndextoSuperPosition(int index, List<Integer> categoryPositions) {
         return categoryPositions.isEmpty() ? index : index + categoryPositions.get(index);
     }
 
@@ -384,11 +441,120 @@ public class GroupableAdapper<Model, ModelView extends View, Category, CategoryV
 
     @Override
     public GroupableAdapper<Model, ModelView, Category, CategoryView> setSelectionManager(@Nullable SelectionManager<? extends Model> selectionManager) {
+        SelectionManager<? extends Model> previous = getSelectionManager();
+        if (previous instanceof ObservableSelectionManager) {
+            ((ObservableSelectionManager) previous).removeSelectionListener(groupSelectionCounter);
+        }
         internalListAdapter.setSelectionManager(new GroupableAdapperSelectManager<>(this, selectionManager));
         super.setSelectionManager(selectionManager);
+        if (selectionManager instanceof ObservableSelectionManager) {
+            ((ObservableSelectionManager) selectionManager).addSelectionListener(groupSelectionCounter);
+        }
+        groupSelectedCounts = null;
         return this;
     }
 
+    @SuppressWarnings("UnusedDeclaration")
+    public int getGroupCount() {
+        return categoryPositions.size();
+    }
+
+    /**
+     * @return the number of visible items in the group at {@param groupIndex}
+     */
+    public int getGroupSize(int groupIndex) {
+        int end = groupIndex + 1 < categoryPositions.size() ? categoryPositions.get(groupIndex + 1) : internalListAdapter.getItemCount();
+        return end - categoryPositions.get(groupIndex);
+    }
+
+    /**
+     * Selects or deselects every visible item of the group at {@param groupIndex} in one operation, if the {@link SelectionManager} is a {@link BulkSelectionManager},
+     * or item by item otherwise
+     * @return false if not every item could be selected
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public boolean selectGroup(int groupIndex, boolean selected) {
+        SelectionManager<? extends Model> selectionManager = getSelectionManager();
+        if (selectionManager == null) {
+            return false;
+        }
+        int start = categoryIndextoSuperPosition(groupIndex, categoryPositions) + 1;
+        int count = getGroupSize(groupIndex);
+        if (selectionManager instanceof BulkSelectionManager) {
+            BulkSelectionManager bulkSelectionManager = (BulkSelectionManager) selectionManager;
+            if (selected) {
+                return bulkSelectionManager.selectRange(start, count);
+            }
+            bulkSelectionManager.deselectRange(start, count);
+            return true;
+        }
+        for (int position = start; position < start + count; position++) {
+            if (selectionManager.isItemSelected(position) != selected && !selectionManager.selectItem(position, selected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether none, some or all of the visible items of the group at {@param groupIndex} are selected, for use when binding its header.
+     * Headers are notified with {@link SelectionManager#SELECTION_PAYLOAD} when this changes, as long as the SelectionManager is an {@link ObservableSelectionManager}.
+     * The items are counted once after each change to the list, after which this takes constant time.
+     * @return one of {@link #GROUP_SELECTION_NONE}, {@link #GROUP_SELECTION_SOME} or {@link #GROUP_SELECTION_ALL}
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public int getGroupSelectionState(int groupIndex) {
+        int selected = getGroupSelectedCounts()[groupIndex];
+        if (selected == 0) {
+            return GROUP_SELECTION_NONE;
+        }
+        return selected >= getGroupSize(groupIndex) ? GROUP_SELECTION_ALL : GROUP_SELECTION_SOME;
+    }
+
+    private int[] getGroupSelectedCounts() {
+        if (groupSelectedCounts == null || groupSelectedCounts.length != categoryPositions.size()) {
+            int[] counts = new int[categoryPositions.size()];
+            SelectionManager<? extends Model> selectionManager = getSelectionManager();
+            if (selectionManager != null) {
+                int group = -1;
+                for (int i = 0; i < internalListAdapter.getItemCount(); i++) {
+                    if (group + 1 < categoryPositions.size() && categoryPositions.get(group + 1) == i) {
+                        group++;
+                    }
+                    //Items before the first header belong to no group; as in superPositionToIndex, their positions are their indices
+                    if (group < 0) {
+                        continue;
+                    }
+                    if (selectionManager.isItemSelected(i + group + 1)) {
+                        counts[group]++;
+                    }
+                }
+            }
+            groupSelectedCounts = counts;
+        }
+        return groupSelectedCounts;
+    }
+
+    /**
+     * Adds {@param delta} to the count of each group containing one of {@param ids}, recording the state of each group before its first change in {@param statesBefore}
+     */
+    private void countSelectionChanges(long[] ids, int delta, SparseIntArray statesBefore) {
+        for (long id : ids) {
+            int index = internalListAdapter.getPosition(id);
+            if (index == RecyclerView.NO_POSITION) {
+                continue;
+            }
+            int group = getGroupIndex(index, categoryPositions);
+            if (group < 0) {
+                continue;
+            }
+            if (statesBefore.indexOfKey(group) < 0) {
+                statesBefore.put(group, getGroupSelectionState(group));
+            }
+            groupSelectedCounts[group] += delta;
+        }
+    }
+
     private static class GroupableAdapperSelectManager<T> extends ConversionSelectManager<T> {
         private final GroupableAdapper adapper;
 
@@ -403,7 +569,7 @@ public class GroupableAdapper<Model, ModelView extends View, Category, CategoryV
         }
     }
 
-    private static class GroupableIdentifier<T> implements Bidentifier<T> {
+    private static class GroupableIdentifier<T> implements Bidentifier<T>, ReverseIdentifier {
         private final GroupableAdapper<T, ? extends View, ?, ? extends View> adapper;
 
         private GroupableIdentifier(GroupableAdapper<T, ? extends View, ?, ? extends View> adapper) {
@@ -416,6 +582,12 @@ public class GroupableAdapper<Model, ModelView extends View, Category, CategoryV
             return pair.second.getItemId(pair.first);
         }
 
+        @Override
+        public int getPosition(long id) {
+            int index = adapper.internalListAdapter.getPosition(id);
+            return index != RecyclerView.NO_POSITION ? listIndextoSuperPosition(index, adapper.categoryPositions) : RecyclerView.NO_POSITION;
+        }
+
         @Override
         public Set<? extends T> getModels(Set<Long> ids) {
             return adapper.internalListAdapter.getItems(ids);
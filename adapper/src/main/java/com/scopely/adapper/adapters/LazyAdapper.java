@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.support.annotation.LayoutRes;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.view.ViewGroup;
+
+import com.scopely.adapper.interfaces.BackgroundSectionFactory;
+import com.scopely.adapper.interfaces.SectionFactory;
+import com.scopely.adapper.interfaces.SelectionManager;
+import com.scopely.adapper.utils.SetUtils;
+import com.scopely.adapper.utils.ThreadUtils;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * An Adapper that stands in for an Adapper created by a {@link SectionFactory}, displaying a fixed number of placeholder rows until that Adapper is needed.
+ * Generally used as a section of a {@link RecursiveAdapper}, which materializes the section once it comes near the visible window.
+ * Materialization happens in two steps: {@link #materialize()} (or {@link #materialize(Runnable)}) creates the real Adapper, and {@link #activate()} swaps it in
+ * for the placeholders. The owning {@link RecursiveAdapper} is responsible for notifying of the change in between.
+ */
+public class LazyAdapper<Model> extends BaseAdapper<Model, RecyclerView.ViewHolder> {
+    private final SectionFactory<? extends Model> factory;
+    private final int placeholderCount;
+    @LayoutRes
+    private final int placeholderLayout;
+    private final int placeholderViewType;
+    private final Set<Integer> viewTypes;
+    @Nullable
+    private BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapper;
+    @Nullable
+    private SelectionManager<? extends Model> selectionManager;
+    private boolean active;
+    private boolean materializing;
+
+    public LazyAdapper(SectionFactory<? extends Model> factory, int placeholderCount, @LayoutRes int placeholderLayout) {
+        this.factory = factory;
+        this.placeholderCount = placeholderCount;
+        this.placeholderLayout = placeholderLayout;
+        //Adappers use layout ids as view types, so the placeholders get a type no real row can have, rather than colliding with a row inflated from the same layout
+        this.placeholderViewType = -placeholderLayout;
+        this.viewTypes = SetUtils.initSet(placeholderViewType);
+    }
+
+    public boolean isMaterialized() {
+        return adapper != null;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Creates the real Adapper, if it has not been created already. Does not change what this Adapper displays until {@link #activate()} is called.
+     */
+    public void materialize() {
+        if(adapper == null) {
+            adopt(factory.create());
+        }
+    }
+
+    /**
+     * Creates the real Adapper, if it has not been created or requested already, and runs {@param onMaterialized} on the main thread once it has been.
+     * A {@link BackgroundSectionFactory} is called on a background thread; any other factory is called now, and {@param onMaterialized} is run
+     * once any work currently in progress on the main thread (such as a layout pass) has completed.
+     */
+    public void materialize(final Runnable onMaterialized) {
+        if(adapper != null || materializing) {
+            return;
+        }
+        if(!(factory instanceof BackgroundSectionFactory)) {
+            materialize();
+            ThreadUtils.postToMain(onMaterialized);
+            return;
+        }
+        materializing = true;
+        ThreadUtils.runPrefetch(new Runnable() {
+            @Override
+            public void run() {
+                final BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> created = factory.create();
+                ThreadUtils.postToMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        materializing = false;
+                        if(adapper == null) {
+                            adopt(created);
+                        }
+                        onMaterialized.run();
+                    }
+                });
+            }
+        });
+    }
+
+    private void adopt(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> created) {
+        adapper = created;
+        if(selectionManager != null) {
+            setSelectionManager(adapper, selectionManager);
+        }
+        viewTypes.addAll(adapper.getViewTypes());
+    }
+
+    /**
+     * Replaces the placeholder rows with the rows of the real Adapper, materializing it first if necessary.
+     */
+    void activate() {
+        materialize();
+        active = true;
+    }
+
+    @Nullable
+    public BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> getAdapper() {
+        return adapper;
+    }
+
+    @Override
+    public Set<Integer> getViewTypes() {
+        return viewTypes;
+    }
+
+    @Override
+    public int getItemCount() {
+        return active ? adapper.getItemCount() : placeholderCount;
+    }
+
+    @Override
+    public Object getItem(int position) {
+        return active ? adapper.getItem(position) : null;
+    }
+
+    @Override
+    public boolean isModel(int position) {
+        return active && adapper.isModel(position);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return active ? adapper.getItemViewType(position) : placeholderViewType;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return active ? adapper.getItemId(position) : RecyclerView.NO_ID;
+    }
+
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        if(adapper != null && adapper.getViewTypes().contains(viewType)) {
+            return adapper.onCreateViewHolder(parent, viewType);
+        }
+        return new RecyclerView.ViewHolder(LayoutInflater.from(parent.getContext()).inflate(placeholderLayout, parent, false)) {};
+    }
+
+    @Override
+    public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+        if(active) {
+            adapper.onBindViewHolderCast(holder, position);
+        }
+    }
+
+    @Override
+    public boolean onBindSelection(RecyclerView.ViewHolder holder, int position) {
+        return active && adapper.onBindSelectionCast(holder, position);
+    }
+
+    @Override
+    protected void onChanged() {
+        if(active) {
+            adapper.notifyDataSetChanged();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<? extends Model> getItems(Set<Long> ids) {
+        return active ? adapper.getItems(ids) : Collections.EMPTY_SET;
+    }
+
+    @Override
+    public LazyAdapper<Model> setSelectionManager(@Nullable SelectionManager<? extends Model> selectionManager) {
+        this.selectionManager = selectionManager;
+        if(adapper != null) {
+            setSelectionManager(adapper, selectionManager);
+        }
+        super.setSelectionManager(selectionManager);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void setSelectionManager(BaseAdapper<T, ? extends RecyclerView.ViewHolder> adapper, @Nullable SelectionManager<?> selectionManager) {
+        adapper.setSelectionManager((SelectionManager<? extends T>) selectionManager);
+    }
+}
@@ -18,6 +18,7 @@ package com.scopely.adapper.adapters;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
 import android.util.Pair;
 import android.util.SparseBooleanArray;
 import android.util.SparseIntArray;
@@ -28,13 +29,14 @@ import android.widget.Filter;
 import android.widget.Filterable;
 
 import com.scopely.adapper.impls.HashCodeIdentifier;
-import com.scopely.adapper.impls.BidentifierImpl;
-import com.scopely.adapper.impls.NaiveLookup;
+import com.scopely.adapper.impls.IndexedBidentifier;
 import com.scopely.adapper.impls.TypedViewHolder;
 import com.scopely.adapper.interfaces.FilterFunction;
 import com.scopely.adapper.interfaces.Reorderable;
 import com.scopely.adapper.interfaces.ViewProvider;
 import com.scopely.adapper.utils.ListUtils;
+import com.scopely.adapper.utils.LongIntHashMap;
+import com.scopely.adapper.utils.SetUtils;
 import com.scopely.adapper.utils.SparseArrayUtils;
 
 import java.util.ArrayList;
@@ -63,7 +65,7 @@ public class ListAdapper<Model, GenericView extends View> extends BaseAdapper<Mo
         this.provider = provider;
         this.list = new ArrayList<>(source);
         this.visibleList = list;
-        setBidentifier(new BidentifierImpl<>(new HashCodeIdentifier(this), new NaiveLookup<>(this)));
+        setBidentifier(new UnfilteredBidentifier());
         notifyDataSetChanged();
     }
 
@@ -72,6 +74,11 @@ public class ListAdapper<Model, GenericView extends View> extends BaseAdapper<Mo
         holder.bind(getModel(position), position, getSelectionManager(position));
     }
 
+    @Override
+    public boolean onBindSelection(TypedViewHolder<? super Model, ? extends GenericView> holder, int position) {
+        return holder.bindSelection(position, getSelectionManager(position));
+    }
+
 
     @NonNull
     @Override
@@ -222,4 +229,46 @@ public class ListAdapper<Model, GenericView extends View> extends BaseAdapper<Mo
             notifyItemMoved(pair.first, pair.second);
         }
     }
+
+    /**
+     * The default Bidentifier of a ListAdapper, which finds positions among the visible items but models among all of them,
+     * so that items hidden by the filter stay in {@link #getSelections()}.
+     * Models are looked up in an index from id to place in the unfiltered list, built the first time it is needed after each change to the source.
+     */
+    private class UnfilteredBidentifier extends IndexedBidentifier<Model> {
+        private final LongIntHashMap indices = new LongIntHashMap();
+        @Nullable
+        private List<? extends Model> indexedList;
+
+        private UnfilteredBidentifier() {
+            super(ListAdapper.this, new HashCodeIdentifier(ListAdapper.this));
+        }
+
+        @Override
+        public Set<Model> getModels(Set<Long> ids) {
+            //onChanged() replaces the list rather than changing it, so a new list means a stale index
+            List<? extends Model> list = ListAdapper.this.list;
+            if (indexedList != list) {
+                indices.clear();
+                for (int i = 0; i < list.size(); i++) {
+                    long id = HashCodeIdentifier.idOf(list.get(i));
+                    if (id != RecyclerView.NO_ID) {
+                        indices.putIfAbsent(id, i);
+                    }
+                }
+                indexedList = list;
+            }
+            Set<Model> set = SetUtils.newSet(ids.size());
+            for (Long id : ids) {
+                if (id == null) {
+                    continue;
+                }
+                int index = indices.get(id, -1);
+                if (index != -1) {
+                    set.add(list.get(index));
+                }
+            }
+            return set;
+        }
+    }
 }
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.LayoutRes;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.scopely.adapper.impls.TypedViewHolder;
+import com.scopely.adapper.interfaces.MiniOrm;
+import com.scopely.adapper.interfaces.PageQuery;
+import com.scopely.adapper.interfaces.ViewProvider;
+import com.scopely.adapper.utils.SetUtils;
+import com.scopely.adapper.utils.ThreadUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An Adapper that displays rows too numerous to hold in a single {@link Cursor}, by loading them a page at a time from a {@link PageQuery}.
+ * Pages are read and decoded on a background thread, and a small number of them are kept in memory.
+ * Rows whose page has not arrived yet are displayed as placeholders, inflated from the layout passed to the constructor.
+ * As rows are bound, the next page in the direction of scrolling is loaded ahead of time.
+ * @param <Model> The class of object which a single row maps to
+ * @param <GenericView> The {@link View} class used to display the items in the list
+ */
+public class PagedCursorAdapper<Model, GenericView extends View> extends BaseAdapper<Model, RecyclerView.ViewHolder> {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_MAX_PAGES = 5;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final int MAX_RETRY_DOUBLINGS = 5;
+
+    private final PageQuery query;
+    private final MiniOrm<Model> miniOrm;
+    protected final ViewProvider<? super Model, ? extends GenericView> provider;
+    private final int pageSize;
+    private final int placeholderLayout;
+    private final Set<Integer> viewTypes;
+    private final LruCache<Integer, List<Model>> pages;
+    private final Set<Integer> loading = SetUtils.newSet();
+    //Pages that failed to load are not requested again until a delay, doubling with each consecutive failure, has passed
+    private final Set<Integer> failed = SetUtils.newSet();
+    private final SparseIntArray failureCounts = new SparseIntArray();
+    private int count;
+    private int generation;
+    private int lastBoundPosition;
+
+    public PagedCursorAdapper(PageQuery query, MiniOrm<Model> miniOrm, ViewProvider<? super Model, ? extends GenericView> provider, @LayoutRes int placeholderLayout) {
+        this(query, miniOrm, provider, placeholderLayout, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * @param maxPages how many pages are kept in memory. Should be enough to cover the visible rows with a page to spare either side.
+     */
+    public PagedCursorAdapper(PageQuery query, MiniOrm<Model> miniOrm, ViewProvider<? super Model, ? extends GenericView> provider, @LayoutRes int placeholderLayout, int pageSize, int maxPages) {
+        this.query = query;
+        this.miniOrm = miniOrm;
+        this.provider = provider;
+        this.placeholderLayout = placeholderLayout;
+        this.pageSize = pageSize;
+        this.pages = new LruCache<>(maxPages);
+        this.viewTypes = SetUtils.newSet(provider.getViewTypes());
+        viewTypes.add(placeholderLayout);
+        refresh();
+    }
+
+    /**
+     * Discards the loaded pages and counts the rows again, for use when the underlying data has changed.
+     * Rows are displayed as placeholders until their page has been loaded again.
+     */
+    public void refresh() {
+        generation++;
+        pages.evictAll();
+        loading.clear();
+        failed.clear();
+        failureCounts.clear();
+        final int generation = this.generation;
+        ThreadUtils.runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                final int count = query.getCount();
+                ThreadUtils.postToMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation == PagedCursorAdapper.this.generation) {
+                            PagedCursorAdapper.this.count = count;
+                            notifyDataSetChanged();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    public boolean isLoaded(int position) {
+        return pages.get(position / pageSize) != null;
+    }
+
+    @Override
+    public Set<Integer> getViewTypes() {
+        return viewTypes;
+    }
+
+    @Override
+    public int getItemCount() {
+        return count;
+    }
+
+    /**
+     * @return the model at {@param position}, or null if its page has not been loaded yet, in which case the page is requested
+     */
+    @Override
+    public Object getItem(int position) {
+        int page = position / pageSize;
+        List<Model> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        int row = position % pageSize;
+        return row < rows.size() ? rows.get(row) : null;
+    }
+
+    @Override
+    public boolean isModel(int position) {
+        return getItem(position) != null;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        Model model = getModel(position);
+        return model != null ? provider.getViewType(model) : placeholderLayout;
+    }
+
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == placeholderLayout && !provider.getViewTypes().contains(viewType)) {
+            return new RecyclerView.ViewHolder(inflater.inflate(placeholderLayout, parent, false)) {};
+        }
+        return provider.create(inflater, parent, viewType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+        Model model = getModel(position);
+        if (model != null && holder instanceof TypedViewHolder) {
+            ((TypedViewHolder<? super Model, ? extends GenericView>) holder).bind(model, position, getSelectionManager(position));
+        }
+        prefetch(position);
+    }
+
+    @Override
+    public boolean onBindSelection(RecyclerView.ViewHolder holder, int position) {
+        return holder instanceof TypedViewHolder && ((TypedViewHolder<?, ?>) holder).bindSelection(position, getSelectionManager(position));
+    }
+
+    private void prefetch(int position) {
+        int direction = position >= lastBoundPosition ? 1 : -1;
+        lastBoundPosition = position;
+        int page = position / pageSize + direction;
+        if (pages.get(page) == null) {
+            requestPage(page);
+        }
+    }
+
+    private void requestPage(final int page) {
+        if (page < 0 || page * pageSize >= count || loading.contains(page) || failed.contains(page)) {
+            return;
+        }
+        loading.add(page);
+        final int generation = this.generation;
+        ThreadUtils.runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                final List<Model> rows = loadPage(page);
+                ThreadUtils.postToMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageLoaded(generation, page, rows);
+                    }
+                });
+            }
+        });
+    }
+
+    @Nullable
+    private List<Model> loadPage(int page) {
+        try {
+            Cursor cursor = query.getPage(page * pageSize, pageSize);
+            if (cursor == null) {
+                return Collections.emptyList();
+            }
+            try {
+                List<Model> rows = new ArrayList<>(cursor.getCount());
+                while (cursor.moveToNext()) {
+                    rows.add(miniOrm.getObject(cursor));
+                }
+                return rows;
+            } finally {
+                cursor.close();
+            }
+        } catch (RuntimeException e) {
+            //The page is left unloaded, and its rows are rebound after the retry delay, so that it is requested again if they are still displayed
+            Log.e("Adapper", "PagedCursorAdapper failed to load page " + page, e);
+            return null;
+        }
+    }
+
+    private void onPageLoaded(final int generation, final int page, @Nullable List<Model> rows) {
+        if (generation != this.generation) {
+            return;
+        }
+        loading.remove(page);
+        if (rows == null) {
+            int failures = failureCounts.get(page) + 1;
+            failureCounts.put(page, failures);
+            failed.add(page);
+            ThreadUtils.postToMainDelayed(new Runnable() {
+                @Override
+                public void run() {
+                    if (generation == PagedCursorAdapper.this.generation) {
+                        failed.remove(page);
+                        //Rebinding the placeholders requests the page again, if they are still displayed
+                        int start = page * pageSize;
+                        if (start < count) {
+                            notifyItemRangeChanged(start, Math.min(pageSize, count - start));
+                        }
+                    }
+                }
+            }, RETRY_DELAY_MILLIS << Math.min(failures - 1, MAX_RETRY_DOUBLINGS));
+        } else {
+            failureCounts.delete(page);
+            pages.put(page, rows);
+            int start = page * pageSize;
+            notifyItemRangeChanged(start, Math.min(pageSize, count - start));
+        }
+    }
+
+    /**
+     * A {@link PageQuery} that reads pages from a table of a {@link SQLiteDatabase} with LIMIT and OFFSET.
+     * Note that SQLite steps over every row before the offset, so pages far into a large table get progressively slower to load; see {@link KeysetQuery}.
+     */
+    public static class LimitOffsetQuery implements PageQuery {
+        protected final SQLiteDatabase db;
+        protected final String tableName;
+        @Nullable
+        protected final String[] columns;
+        @Nullable
+        protected final String selection;
+        @Nullable
+        protected final String[] selectionArgs;
+        @Nullable
+        protected final String orderBy;
+
+        public LimitOffsetQuery(SQLiteDatabase db, String tableName, @Nullable String[] columns, @Nullable String selection, @Nullable String[] selectionArgs, @Nullable String orderBy) {
+            this.db = db;
+            this.tableName = tableName;
+            this.columns = columns;
+            this.selection = selection;
+            this.selectionArgs = selectionArgs;
+            this.orderBy = orderBy;
+        }
+
+        @Override
+        public int getCount() {
+            return (int) DatabaseUtils.queryNumEntries(db, tableName, selection, selectionArgs);
+        }
+
+        @Override
+        public Cursor getPage(int offset, int limit) {
+            return db.query(tableName, columns, selection, selectionArgs, null, null, orderBy, offset + "," + limit);
+        }
+    }
+
+    /**
+     * A {@link PageQuery} that orders rows by a unique integer column, and seeks to a page by that column's value rather than by offset
+     * whenever the page before it has been loaded, which is the case while scrolling.
+     * Pages reached otherwise (by a fast scroll, for instance) are loaded by offset.
+     * The key column has to be among the queried columns.
+     */
+    public static class KeysetQuery extends LimitOffsetQuery {
+        private final String keyColumn;
+        //The key of the last row before each offset that is known to start a page
+        private final SparseArray<Long> boundaries = new SparseArray<>();
+
+        public KeysetQuery(SQLiteDatabase db, String tableName, @Nullable String[] columns, @Nullable String selection, @Nullable String[] selectionArgs, String keyColumn) {
+            super(db, tableName, columns, selection, selectionArgs, keyColumn);
+            this.keyColumn = keyColumn;
+        }
+
+        @Override
+        public int getCount() {
+            synchronized (boundaries) {
+                boundaries.clear();
+            }
+            return super.getCount();
+        }
+
+        @Override
+        public Cursor getPage(int offset, int limit) {
+            Long boundary;
+            synchronized (boundaries) {
+                boundary = boundaries.get(offset);
+            }
+            Cursor cursor;
+            if (boundary == null) {
+                cursor = super.getPage(offset, limit);
+            } else {
+                String keySelection = keyColumn + " > ?";
+                String[] args;
+                if (selection != null) {
+                    keySelection = "(" + selection + ") AND " + keySelection;
+                    int argCount = selectionArgs != null ? selectionArgs.length : 0;
+                    args = new String[argCount + 1];
+                    if (argCount > 0) {
+                        System.arraycopy(selectionArgs, 0, args, 0, argCount);
+                    }
+                    args[argCount] = boundary.toString();
+                } else {
+                    args = new String[]{boundary.toString()};
+                }
+                cursor = db.query(tableName, columns, keySelection, args, null, null, orderBy, String.valueOf(limit));
+            }
+            if (cursor != null && cursor.moveToLast()) {
+                long lastKey = cursor.getLong(cursor.getColumnIndexOrThrow(keyColumn));
+                synchronized (boundaries) {
+                    boundaries.put(offset + cursor.getCount(), lastKey);
+                }
+                cursor.moveToPosition(-1);
+            }
+            return cursor;
+        }
+    }
+}
@@ -16,9 +16,11 @@
 
 package com.scopely.adapper.adapters;
 
+import android.support.annotation.LayoutRes;
 import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 import android.util.Pair;
+import android.util.SparseArray;
 import android.util.SparseBooleanArray;
 import android.util.SparseIntArray;
 import android.view.ViewGroup;
@@ -26,14 +28,20 @@ import android.widget.Filter;
 import android.widget.Filterable;
 
 import com.scopely.adapper.interfaces.Bidentifier;
+import com.scopely.adapper.interfaces.DeferredFilter;
 import com.scopely.adapper.interfaces.GroupPositionIdentifier;
+import com.scopely.adapper.interfaces.Prefetchable;
 import com.scopely.adapper.interfaces.Reorderable;
+import com.scopely.adapper.interfaces.ReverseIdentifier;
+import com.scopely.adapper.interfaces.SectionFactory;
 import com.scopely.adapper.interfaces.SelectionManager;
 import com.scopely.adapper.utils.CompositeFilter;
+import com.scopely.adapper.utils.LongIntHashMap;
 import com.scopely.adapper.utils.SparseArrayUtils;
 import com.scopely.adapper.utils.SetUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -43,22 +51,38 @@ import java.util.Set;
 /**
  * An Adapper that wraps several other Adappers, effectively stacking them in order.
  * Useful for creating an Adapper backed by several independent lists or datasets.
+ * Positions are looked up in an index of where each child (and each child of a nested RecursiveAdapper) starts, which is rebuilt, at a cost proportional to the number of children,
+ * the first time it is needed after this Adapper is notified of a change. Changes to a child must therefore be notified through this Adapper (or made with a {@link SectionTransaction}),
+ * not only to the child, or the positions and item count will be out of date.
  */
-public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.ViewHolder> implements Filterable, Reorderable, GroupPositionIdentifier {
+public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.ViewHolder> implements Filterable, Reorderable, GroupPositionIdentifier, Prefetchable {
+    public static final int DEFAULT_PREFETCH_DISTANCE = 10;
+    private static final int NOTIFY_INSERTED = 0;
+    private static final int NOTIFY_REMOVED = 1;
+    private static final int NOTIFY_MOVED = 2;
+
     protected final List<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>> adapters = new ArrayList<>();
     final Set<Integer> viewTypes = SetUtils.newSet();
     private Map<BaseAdapper, Integer> countAtLastUpdate = new HashMap<>();
+    private int prefetchDistance = DEFAULT_PREFETCH_DISTANCE;
+    private final PositionIndex index = new PositionIndex();
+    private final RecursiveIdentifier<Model> identifier;
+    private final SparseArray<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>> adaptersByViewType = new SparseArray<>();
+    private boolean dispatchingTransaction;
+    private boolean boundByParent;
 
     @SafeVarargs
     public RecursiveAdapper(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>... adapters) {
-        setBidentifier(new RecursiveIdentifier<>(this));
+        identifier = new RecursiveIdentifier<>(this);
+        setBidentifier(identifier);
         Collections.addAll(this.adapters, adapters);
         setViewTypes(this.adapters);
     }
 
     @SuppressWarnings("UnusedDeclaration")
     public RecursiveAdapper(List<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>> adapters) {
-        setBidentifier(new RecursiveIdentifier<>(this));
+        identifier = new RecursiveIdentifier<>(this);
+        setBidentifier(identifier);
         this.adapters.addAll(adapters);
         setViewTypes(this.adapters);
     }
@@ -77,39 +101,83 @@ public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.Vie
         return this;
     }
 
+    /**
+     * Adds a section whose Adapper is not created until it is within the prefetch distance of a bound position (see {@link #setPrefetchDistance(int)}).
+     * Until then, the section displays {@param placeholderCount} rows inflated from {@param placeholderLayout}.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public RecursiveAdapper<Model> addSection(SectionFactory<? extends Model> factory, int placeholderCount, @LayoutRes int placeholderLayout) {
+        return addAdapter(new LazyAdapper<Model>(factory, placeholderCount, placeholderLayout));
+    }
+
+    /**
+     * Sets how many positions away from a bound position a section added with {@link #addSection(SectionFactory, int, int)} has to be in order to be materialized.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public RecursiveAdapper<Model> setPrefetchDistance(int prefetchDistance) {
+        this.prefetchDistance = prefetchDistance;
+        return this;
+    }
+
     @SuppressWarnings("UnusedDeclaration")
     public void removeAdapter(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter) {
         adapters.remove(adapter);
         setViewTypes(adapters);
     }
 
+    /**
+     * Unlike {@link #addAdapter(BaseAdapper)} and {@link #removeAdapter(BaseAdapper)}, which leave it to the caller to notify of the change,
+     * the returned transaction notifies of exactly the positions belonging to the sections it adds, removes or moves when it is committed.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public SectionTransaction beginTransaction() {
+        return new SectionTransaction();
+    }
+
     private void setViewTypes(List<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>> adapters) {
         viewTypes.clear();
+        adaptersByViewType.clear();
         for(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapper : adapters) {
-            viewTypes.addAll(adapper.getViewTypes());
+            if(adapper instanceof RecursiveAdapper) {
+                //Nested sections may have materialized since the nested Adapper last collected its view types
+                ((RecursiveAdapper<? extends Model>) adapper).refreshViewTypes();
+            }
+            Set<Integer> types = adapper.getViewTypes();
+            if(types == null) {
+                continue;
+            }
+            viewTypes.addAll(types);
+            for(Integer viewType : types) {
+                //As with a scan of the children, the first child declaring a view type creates its holders
+                if(adaptersByViewType.get(viewType) == null) {
+                    adaptersByViewType.put(viewType, adapper);
+                }
+            }
         }
+        index.invalidate();
+        identifier.invalidate();
+    }
+
+    private void refreshViewTypes() {
+        setViewTypes(adapters);
     }
 
     @Override
     public int getItemCount() {
-        int count = 0;
-        for (BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter : adapters) {
-            count += adapter.getItemCount();
-        }
-        return count;
+        return index.getItemCount();
     }
 
     @Override
     public Object getItem(int position) {
-        Pair<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>, Integer> pair = getInternalAdapter(position);
-        return pair.first.getItem(pair.second);
+        int leaf = index.findLeaf(position);
+        return index.getLeaf(leaf).getItem(position - index.getLeafStart(leaf));
     }
 
     @Override
     public long getItemId(int position) {
         try {
-            Pair<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>, Integer> pair = getInternalAdapter(position);
-            return pair.first.getItemId(pair.second);
+            int leaf = index.findLeaf(position);
+            return index.getLeaf(leaf).getItemId(position - index.getLeafStart(leaf));
         } catch (IndexOutOfBoundsException e) {
             return RecyclerView.NO_ID;
         }
@@ -121,13 +189,114 @@ public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.Vie
         return adapper.onCreateViewHolder(parent, viewType);
     }
 
+    /**
+     * Binds through the direct child rather than the leaf, so that a nested RecursiveAdapper that overrides binding still gets to bind its rows.
+     * Sections are materialized by the outermost RecursiveAdapper only, as it is the one the RecyclerView observes.
+     */
     @Override
     public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
-        Pair<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>, Integer> pair = getInternalAdapter(position);
-        pair.first.onBindViewHolderCast(holder, pair.second);
+        int child = index.findChild(position);
+        BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter = adapters.get(child);
+        int childPosition = position - index.getChildStart(child);
+        if (adapter instanceof RecursiveAdapper) {
+            RecursiveAdapper<? extends Model> nested = (RecursiveAdapper<? extends Model>) adapter;
+            nested.boundByParent = true;
+            try {
+                nested.onBindViewHolderCast(holder, childPosition);
+            } finally {
+                nested.boundByParent = false;
+            }
+        } else {
+            adapter.onBindViewHolderCast(holder, childPosition);
+        }
+        if (!boundByParent) {
+            materializeSections(position - prefetchDistance, position + prefetchDistance);
+        }
+    }
+
+    @Override
+    public boolean onBindSelection(RecyclerView.ViewHolder holder, int position) {
+        int child = index.findChild(position);
+        return adapters.get(child).onBindSelectionCast(holder, position - index.getChildStart(child));
+    }
+
+    /**
+     * Materializes the sections (see {@link #addSection(SectionFactory, int, int)}) among the rows from {@param start} to {@param end}, ahead of them being bound,
+     * and passes the range on to every child that is itself {@link Prefetchable}, in that child's own positions.
+     * Sections are otherwise only materialized as rows near them are bound, in which case a section with a plain {@link SectionFactory} is created in the middle of the bind.
+     */
+    @Override
+    public void prefetch(int start, int end) {
+        int first = Math.max(start, 0);
+        int last = Math.min(end, index.getItemCount() - 1);
+        if (first > last) {
+            return;
+        }
+        materializeSections(first, last);
+        for (int leaf = index.findLeaf(first); leaf < index.getLeafCount() && index.getLeafStart(leaf) <= last; leaf++) {
+            BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter = index.getLeaf(leaf);
+            if (adapter instanceof Prefetchable) {
+                int leafStart = index.getLeafStart(leaf);
+                ((Prefetchable) adapter).prefetch(first - leafStart, last - leafStart);
+            }
+        }
+    }
+
+    /**
+     * Sections are found among the leaves of the index, so that sections belonging to nested RecursiveAdappers are materialized (and notified of) by the RecursiveAdapper actually being bound.
+     * Sections without placeholder rows are never bound themselves, so they are materialized when a neighbouring row is bound.
+     */
+    private void materializeSections(int start, int end) {
+        int itemCount = index.getItemCount();
+        if (itemCount == 0) {
+            return;
+        }
+        int first = index.findLeaf(Math.min(Math.max(start, 0), itemCount - 1));
+        //Empty leaves start where the next leaf does, so finding by position skips over them
+        while (first > 0 && index.getLeafStart(first - 1) == index.getLeafStart(first)) {
+            first--;
+        }
+        for (int leaf = first; leaf < index.getLeafCount() && index.getLeafStart(leaf) <= end; leaf++) {
+            BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter = index.getLeaf(leaf);
+            if (adapter instanceof LazyAdapper) {
+                final LazyAdapper<? extends Model> section = (LazyAdapper<? extends Model>) adapter;
+                //This may be the middle of a layout pass, during which the item count must not change, so the swap always waits until the pass is over
+                section.materialize(new Runnable() {
+                    @Override
+                    public void run() {
+                        activateSection(section);
+                    }
+                });
+            }
+        }
+    }
+
+    private void activateSection(LazyAdapper<? extends Model> section) {
+        int leaf = index.indexOfLeaf(section);
+        if (section.isActive() || leaf < 0) {
+            return;
+        }
+        int start = index.getLeafStart(leaf);
+        int oldCount = section.getItemCount();
+        section.activate();
+        int newCount = section.getItemCount();
+        setViewTypes(adapters);
+        if (Math.min(oldCount, newCount) > 0) {
+            notifyItemRangeChanged(start, Math.min(oldCount, newCount));
+        }
+        if (newCount > oldCount) {
+            notifyItemRangeInserted(start + oldCount, newCount - oldCount);
+        } else if (newCount < oldCount) {
+            notifyItemRangeRemoved(start + newCount, oldCount - newCount);
+        }
     }
 
     private BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> getInternalAdapterForViewType(int viewType) {
+        BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> indexed = adaptersByViewType.get(viewType);
+        if(indexed != null) {
+            return indexed;
+        }
+        //Children may have gained view types since they were last collected, e.g. a LazyAdapper that was just materialized
         for(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapper : adapters) {
             if(adapper.getViewTypes().contains(viewType)) {
                 return adapper;
@@ -165,15 +334,12 @@ public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.Vie
         return integer != null ? integer : 0;
     }
 
+    /**
+     * @return the direct child of this Adapper that displays {@param position}, paired with the position within that child
+     */
     public Pair<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>, Integer> getInternalAdapter (int position) {
-        for (BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter : adapters) {
-            if (position >= adapter.getItemCount()) {
-                position -= adapter.getItemCount();
-            } else {
-                return new Pair<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>, Integer>(adapter, position);
-            }
-        }
-        throw new ArrayIndexOutOfBoundsException();
+        int child = index.findChild(position);
+        return new Pair<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>, Integer>(adapters.get(child), position - index.getChildStart(child));
     }
 
     @Override
@@ -183,14 +349,14 @@ public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.Vie
 
     @Override
     public int getItemViewType(int position) {
-        Pair<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>, Integer> pair = getInternalAdapter(position);
-        return pair.first.getItemViewType(pair.second);
+        int leaf = index.findLeaf(position);
+        return index.getLeaf(leaf).getItemViewType(position - index.getLeafStart(leaf));
     }
 
     @Override
     public boolean isModel(int position) {
-        Pair<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>, Integer> pair = getInternalAdapter(position);
-        return pair.first.isModel(pair.second);
+        int leaf = index.findLeaf(position);
+        return index.getLeaf(leaf).isModel(position - index.getLeafStart(leaf));
     }
 
     private void addLayout(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter) {
@@ -207,8 +373,43 @@ public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.Vie
             adapter.notifyDataSetChanged();
             countAtLastUpdate.put(adapter, adapter.getItemCount());
         }
+        index.invalidate();
+        identifier.invalidate();
+    }
+
+    @Override
+    protected void onItemRangeInserted(int positionStart, int itemCount) {
+        if(!dispatchingTransaction) {
+            super.onItemRangeInserted(positionStart, itemCount);
+        }
+    }
+
+    @Override
+    protected void onItemRangeRemoved(int positionStart, int itemCount) {
+        if(!dispatchingTransaction) {
+            super.onItemRangeRemoved(positionStart, itemCount);
+        }
+    }
+
+    @Override
+    protected void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        if(!dispatchingTransaction) {
+            super.onItemRangeMoved(fromPosition, toPosition, itemCount);
+        }
     }
 
+    @Override
+    protected void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+        //A change with a payload is a partial rebind of the same item, so its id is unaffected
+        if (payload == null) {
+            identifier.invalidate();
+        }
+    }
+
+    /**
+     * @return a composite of the {@link Filter}s of the children that are {@link Filterable}. Results a child applies late
+     * (see {@link DeferredFilter}) are notified through this Adapper, as when the composite publishes its own.
+     */
     @Override
     public Filter getFilter() {
         Filter[] filters = new Filter[adapters.size()];
@@ -219,13 +420,41 @@ public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.Vie
             }
         }
 
-        return new CompositeFilter(filters){
-            @Override
-            protected void publishResults(CharSequence constraint, FilterResults results) {
-                super.publishResults(constraint, results);
-                notifyDataSetChanged();
+        return new RecursiveFilter(filters);
+    }
+
+    private class RecursiveFilter extends CompositeFilter implements DeferredFilter {
+        @Nullable
+        private Runnable deferredResultsListener;
+
+        RecursiveFilter(Filter... filters) {
+            super(filters);
+            Runnable onDeferredResults = new Runnable() {
+                @Override
+                public void run() {
+                    notifyDataSetChanged();
+                    if (deferredResultsListener != null) {
+                        deferredResultsListener.run();
+                    }
+                }
+            };
+            for (Filter filter : filters) {
+                if (filter instanceof DeferredFilter) {
+                    ((DeferredFilter) filter).setDeferredResultsListener(onDeferredResults);
+                }
             }
-        };
+        }
+
+        @Override
+        public void setDeferredResultsListener(@Nullable Runnable listener) {
+            this.deferredResultsListener = listener;
+        }
+
+        @Override
+        protected void publishResults(CharSequence constraint, FilterResults results) {
+            super.publishResults(constraint, results);
+            notifyDataSetChanged();
+        }
     }
 
     @Override
@@ -280,8 +509,9 @@ public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.Vie
 
     @Override
     public boolean isGroup(int position) {
-        Pair<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>, Integer> pair = getInternalAdapter(position);
-        return pair.first instanceof GroupPositionIdentifier && ((GroupPositionIdentifier) pair.first).isGroup(pair.second);
+        int leaf = index.findLeaf(position);
+        BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter = index.getLeaf(leaf);
+        return adapter instanceof GroupPositionIdentifier && ((GroupPositionIdentifier) adapter).isGroup(position - index.getLeafStart(leaf));
     }
 
     @Override
@@ -341,31 +571,337 @@ public class RecursiveAdapper<Model> extends BaseAdapper<Model, RecyclerView.Vie
         }
     }
 
-    private static class RecursiveIdentifier<T> implements Bidentifier<T> {
+    /**
+     * Collects section additions, removals and moves, and applies them together on {@link #commit()}:
+     * the view type and position indices are rebuilt once, and each operation is notified as a range of the positions its section covers,
+     * so that RecyclerView can animate the sections in and out rather than rebinding everything.
+     * Operations apply in the order they were made, so indices passed to later operations refer to the list as changed by earlier ones.
+     */
+    public class SectionTransaction {
+        private final List<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>> sections = new ArrayList<>(adapters);
+        private final List<int[]> notifications = new ArrayList<>();
+        private final Map<BaseAdapper, Integer> counts = new HashMap<>();
+        private boolean committed;
+
+        private SectionTransaction() {}
+
+        public SectionTransaction add(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter) {
+            return add(adapter, sections.size());
+        }
+
+        public SectionTransaction add(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter, int index) {
+            checkNotCommitted();
+            int start = getStart(index);
+            sections.add(index, adapter);
+            notify(NOTIFY_INSERTED, start, getCount(adapter));
+            return this;
+        }
+
+        public SectionTransaction remove(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter) {
+            checkNotCommitted();
+            int index = sections.indexOf(adapter);
+            if(index >= 0) {
+                int start = getStart(index);
+                sections.remove(index);
+                notify(NOTIFY_REMOVED, start, getCount(adapter));
+            }
+            return this;
+        }
+
+        /**
+         * Moves {@param adapter} so that it ends up at {@param index} among the sections.
+         */
+        public SectionTransaction move(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter, int index) {
+            checkNotCommitted();
+            int from = sections.indexOf(adapter);
+            if(from < 0 || from == index) {
+                return this;
+            }
+            int fromStart = getStart(from);
+            sections.remove(from);
+            sections.add(index, adapter);
+            int toStart = getStart(index);
+            int count = getCount(adapter);
+            //RecyclerView only animates moves of single items, so the section is moved an item at a time
+            if(toStart < fromStart) {
+                for(int i = 0; i < count; i++) {
+                    notify(NOTIFY_MOVED, fromStart + i, toStart + i);
+                }
+            } else if(toStart > fromStart) {
+                for(int i = 0; i < count; i++) {
+                    notify(NOTIFY_MOVED, fromStart, toStart + count - 1);
+                }
+            }
+            return this;
+        }
+
+        public void commit() {
+            checkNotCommitted();
+            committed = true;
+            adapters.clear();
+            adapters.addAll(sections);
+            countAtLastUpdate.keySet().retainAll(sections);
+            for(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter : sections) {
+                countAtLastUpdate.put(adapter, getCount(adapter));
+            }
+            setViewTypes(adapters);
+            //The children have not changed, only their arrangement, so our own hooks need not pass the notifications on to them
+            dispatchingTransaction = true;
+            try {
+                for(int[] notification : notifications) {
+                    switch(notification[0]) {
+                        case NOTIFY_INSERTED:
+                            notifyItemRangeInserted(notification[1], notification[2]);
+                            break;
+                        case NOTIFY_REMOVED:
+                            notifyItemRangeRemoved(notification[1], notification[2]);
+                            break;
+                        case NOTIFY_MOVED:
+                            notifyItemMoved(notification[1], notification[2]);
+                            break;
+                    }
+                }
+            } finally {
+                dispatchingTransaction = false;
+            }
+        }
+
+        private void notify(int type, int first, int second) {
+            if(type == NOTIFY_MOVED || second > 0) {
+                notifications.add(new int[]{type, first, second});
+            }
+        }
+
+        private int getStart(int index) {
+            int start = 0;
+            for(int i = 0; i < index; i++) {
+                start += getCount(sections.get(i));
+            }
+            return start;
+        }
+
+        /**
+         * Counts are taken once per section, so that every notification of the transaction agrees on the size of a section.
+         */
+        private int getCount(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter) {
+            Integer count = counts.get(adapter);
+            if(count == null) {
+                count = adapter.getItemCount();
+                counts.put(adapter, count);
+            }
+            return count;
+        }
+
+        private void checkNotCommitted() {
+            if(committed) {
+                throw new IllegalStateException("SectionTransaction has already been committed");
+            }
+        }
+    }
+
+    /**
+     * Looks ids up in an index from id to position. The first lookup after any change rebuilds the whole index, calling getItemId once for every row,
+     * after which looking up k ids costs O(k). A position found in the index is checked against the id actually there, so that a change the index has not heard of yet
+     * causes a rebuild rather than the wrong model.
+     */
+    private static class RecursiveIdentifier<T> implements Bidentifier<T>, ReverseIdentifier {
 
         private final RecursiveAdapper<T> parent;
+        private final LongIntHashMap positions = new LongIntHashMap();
+        private boolean indexed;
 
         public RecursiveIdentifier(RecursiveAdapper<T> parent) {
             this.parent = parent;
         }
 
+        void invalidate() {
+            indexed = false;
+        }
+
         @Override
         public long getId(int position) {
-            try {
-                Pair<BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder>, Integer> pair = parent.getInternalAdapter(position);
-                return pair.first.getItemId(pair.second);
-            } catch (IndexOutOfBoundsException e) {
-                return RecyclerView.NO_ID;
+            return parent.getItemId(position);
+        }
+
+        @Override
+        public int getPosition(long id) {
+            ensureIndexed();
+            int position = positions.get(id, RecyclerView.NO_POSITION);
+            if(position != RecyclerView.NO_POSITION && !isAt(id, position)) {
+                invalidate();
+                ensureIndexed();
+                position = positions.get(id, RecyclerView.NO_POSITION);
             }
+            return position;
+        }
+
+        private boolean isAt(long id, int position) {
+            return position < parent.getItemCount() && parent.getItemId(position) == id;
         }
 
         @Override
         public Set<? extends T> getModels(Set<Long> ids) {
-            Set<T> set = SetUtils.newSet();
-            for(BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper : parent.adapters) {
-                set.addAll(adapper.getItems(ids));
+            Set<T> set = SetUtils.newSet(ids.size());
+            Set<Long> missing = null;
+            for(Long id : ids) {
+                if(id == null) {
+                    continue;
+                }
+                int position = getPosition(id);
+                if(position != RecyclerView.NO_POSITION) {
+                    T model = parent.getModel(position);
+                    if(model != null) {
+                        set.add(model);
+                    }
+                } else {
+                    if(missing == null) {
+                        missing = SetUtils.newSet();
+                    }
+                    missing.add(id);
+                }
+            }
+            if(missing != null) {
+                //Items that are not currently displayed (having been filtered out, for instance) may still be known to a child, such as a CursorAdapper backed by a database lookup
+                for(BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper : parent.adapters) {
+                    set.addAll(adapper.getItems(missing));
+                }
             }
             return set;
         }
+
+        private void ensureIndexed() {
+            if(indexed) {
+                return;
+            }
+            positions.clear();
+            RecursiveAdapper<T>.PositionIndex index = parent.index;
+            for(int leaf = 0; leaf < index.getLeafCount(); leaf++) {
+                BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper = index.getLeaf(leaf);
+                int start = index.getLeafStart(leaf);
+                int end = index.getLeafStart(leaf + 1);
+                for(int position = start; position < end; position++) {
+                    long id = adapper.getItemId(position - start);
+                    if(id != RecyclerView.NO_ID) {
+                        //Where ids collide, the first position wins
+                        positions.putIfAbsent(id, position);
+                    }
+                }
+            }
+            indexed = true;
+        }
+    }
+
+    /**
+     * Maps positions to the Adappers displaying them, both among the direct children of this Adapper and among its leaves
+     * (the Adappers reached by descending through any nested RecursiveAdappers), so that either lookup is a single binary search regardless of nesting depth.
+     * Offsets are collected lazily, and discarded whenever this Adapper is notified of a change or its children are added or removed.
+     * They are not shifted in place, as a range inserted or removed at the boundary between two children does not say which of them changed;
+     * collecting them again costs one getItemCount() per leaf, rather than anything per row.
+     */
+    private class PositionIndex {
+        private final List<BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder>> leaves = new ArrayList<>();
+        private int[] leafStarts = new int[1];
+        private int[] childStarts = new int[1];
+        private boolean valid;
+
+        void invalidate() {
+            valid = false;
+        }
+
+        private void ensureValid() {
+            if (valid) {
+                return;
+            }
+            leaves.clear();
+            childStarts = new int[adapters.size() + 1];
+            int start = 0;
+            for (int i = 0; i < adapters.size(); i++) {
+                childStarts[i] = start;
+                start = addLeaves(adapters.get(i), start);
+            }
+            childStarts[adapters.size()] = start;
+            leafStarts[leaves.size()] = start;
+            valid = true;
+        }
+
+        private int addLeaves(BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> adapter, int start) {
+            if (adapter instanceof RecursiveAdapper) {
+                for (BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> child : ((RecursiveAdapper<? extends Model>) adapter).adapters) {
+                    start = addLeaves(child, start);
+                }
+                return start;
+            }
+            if (leafStarts.length < leaves.size() + 2) {
+                leafStarts = Arrays.copyOf(leafStarts, leafStarts.length * 2 + 2);
+            }
+            leafStarts[leaves.size()] = start;
+            leaves.add(adapter);
+            return start + adapter.getItemCount();
+        }
+
+        int getItemCount() {
+            ensureValid();
+            return childStarts[adapters.size()];
+        }
+
+        int getLeafCount() {
+            ensureValid();
+            return leaves.size();
+        }
+
+        BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> getLeaf(int leaf) {
+            return leaves.get(leaf);
+        }
+
+        int getLeafStart(int leaf) {
+            ensureValid();
+            return leafStarts[leaf];
+        }
+
+        int getChildStart(int child) {
+            ensureValid();
+            return childStarts[child];
+        }
+
+        int findLeaf(int position) {
+            ensureValid();
+            return find(leafStarts, leaves.size(), position);
+        }
+
+        int findChild(int position) {
+            ensureValid();
+            return find(childStarts, adapters.size(), position);
+        }
+
+        int indexOfLeaf(BaseAdapper<?, ?> adapter) {
+            ensureValid();
+            for (int i = 0; i < leaves.size(); i++) {
+                if (leaves.get(i) == adapter) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @param starts the offset of each of {@param count} consecutive ranges, followed by the total
+         * @return the index of the range containing {@param position}, skipping over empty ranges
+         */
+        private int find(int[] starts, int count, int position) {
+            if (position < 0 || position >= starts[count]) {
+                throw new ArrayIndexOutOfBoundsException(position);
+            }
+            int low = 0;
+            int high = count - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid + 1] > position) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
     }
 }
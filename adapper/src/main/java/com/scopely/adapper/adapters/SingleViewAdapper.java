@@ -52,7 +52,7 @@ public class SingleViewAdapper<Model> extends BaseAdapper<Model, RecyclerView.Vi
     }
 
     @Override
-    protected Set<Integer> getViewTypes() {
+    public Set<Integer> getViewTypes() {
         return viewTypes;
     }
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.extras;
+
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import com.scopely.adapper.interfaces.Prefetchable;
+
+/**
+ * Asks a {@link Prefetchable} to prepare the rows just beyond the visible window, in the direction of scrolling.
+ * Requires a {@link LinearLayoutManager} (or a subclass, such as {@link android.support.v7.widget.GridLayoutManager}).
+ */
+public class PrefetchScrollListener extends RecyclerView.OnScrollListener {
+    public static final int DEFAULT_PREFETCH_DISTANCE = 20;
+
+    private final Prefetchable prefetchable;
+    private final int distance;
+    private int lastStart = RecyclerView.NO_POSITION;
+    private int lastEnd = RecyclerView.NO_POSITION;
+
+    public PrefetchScrollListener(Prefetchable prefetchable) {
+        this(prefetchable, DEFAULT_PREFETCH_DISTANCE);
+    }
+
+    /**
+     * @param distance how many rows beyond the visible window to prefetch
+     */
+    public PrefetchScrollListener(Prefetchable prefetchable, int distance) {
+        this.prefetchable = prefetchable;
+        this.distance = distance;
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        if (!(recyclerView.getLayoutManager() instanceof LinearLayoutManager) || (dx == 0 && dy == 0)) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int start;
+        int end;
+        boolean forward = (layoutManager.getOrientation() == LinearLayoutManager.VERTICAL ? dy : dx) > 0;
+        if (forward) {
+            int last = layoutManager.findLastVisibleItemPosition();
+            if (last == RecyclerView.NO_POSITION) {
+                return;
+            }
+            start = last + 1;
+            end = last + distance;
+        } else {
+            int first = layoutManager.findFirstVisibleItemPosition();
+            if (first == RecyclerView.NO_POSITION) {
+                return;
+            }
+            start = first - distance;
+            end = first - 1;
+        }
+        //onScrolled fires every frame, while the window only moves by a row every few frames
+        if (start != lastStart || end != lastEnd) {
+            lastStart = start;
+            lastEnd = end;
+            prefetchable.prefetch(start, end);
+        }
+    }
+}
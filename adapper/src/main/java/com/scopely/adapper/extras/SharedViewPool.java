@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.extras;
+
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+import android.view.View;
+
+import com.scopely.adapper.adapters.BaseAdapper;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link RecyclerView.RecycledViewPool} intended to be shared by every RecyclerView displaying the same layouts, such as nested horizontal shelves.
+ * Rather than keeping a fixed number of holders per view type, the pool grows the limit for each view type to the largest number of holders of that type it has seen in use at once,
+ * so that holders released by one RecyclerView are still around when another needs them.
+ * Usage: call {@link #attach(RecyclerView)} on each RecyclerView after setting its Adapper.
+ */
+public class SharedViewPool extends RecyclerView.RecycledViewPool {
+    /**
+     * The limit RecyclerView itself applies to each view type
+     */
+    public static final int DEFAULT_MAX_RECYCLED_VIEWS = 5;
+    public static final int DEFAULT_MAX_RECYCLED_VIEWS_CAP = 50;
+
+    private final int maxRecycledViewsCap;
+    private final SparseIntArray maxRecycledViews = new SparseIntArray();
+    //Holders of each type currently in the pool, mirroring the pool's own scrap heaps
+    private final SparseIntArray pooled = new SparseIntArray();
+    //Holders of each type handed out (created, or taken from the pool) and not yet put back
+    private final SparseIntArray inUse = new SparseIntArray();
+    private final SparseIntArray peakInUse = new SparseIntArray();
+    //Every holder the pool has seen, so that a holder seen for the first time is known to have been created
+    private final Set<RecyclerView.ViewHolder> known = Collections.newSetFromMap(new WeakHashMap<RecyclerView.ViewHolder, Boolean>());
+    private int inflationsAvoided;
+    private int inflationsPerformed;
+
+    public SharedViewPool() {
+        this(DEFAULT_MAX_RECYCLED_VIEWS_CAP);
+    }
+
+    /**
+     * @param maxRecycledViewsCap the limit past which the pool will not grow for any one view type, regardless of observed usage
+     */
+    public SharedViewPool(int maxRecycledViewsCap) {
+        this.maxRecycledViewsCap = maxRecycledViewsCap;
+    }
+
+    /**
+     * Uses this pool for {@param recyclerView}, and registers the view types of its Adapper if it is a {@link BaseAdapper}.
+     * Also watches the children of {@param recyclerView}, as a holder it attaches without having taken it from the pool is one it created.
+     */
+    public SharedViewPool attach(final RecyclerView recyclerView) {
+        recyclerView.setRecycledViewPool(this);
+        recyclerView.addOnChildAttachStateChangeListener(new RecyclerView.OnChildAttachStateChangeListener() {
+            @Override
+            public void onChildViewAttachedToWindow(View view) {
+                onViewHolderAttached(recyclerView.getChildViewHolder(view));
+            }
+
+            @Override
+            public void onChildViewDetachedFromWindow(View view) {
+            }
+        });
+        if(recyclerView.getAdapter() instanceof BaseAdapper) {
+            register((BaseAdapper) recyclerView.getAdapter());
+        }
+        return this;
+    }
+
+    /**
+     * Registers every view type returned by {@link BaseAdapper#getViewTypes()}, which for a {@link com.scopely.adapper.adapters.RecursiveAdapper} includes the view types of all of its children.
+     */
+    public SharedViewPool register(BaseAdapper<?, ?> adapper) {
+        for(int viewType : adapper.getViewTypes()) {
+            if(maxRecycledViews.indexOfKey(viewType) < 0) {
+                setMaxRecycledViews(viewType, DEFAULT_MAX_RECYCLED_VIEWS);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void setMaxRecycledViews(int viewType, int max) {
+        maxRecycledViews.put(viewType, max);
+        super.setMaxRecycledViews(viewType, max);
+    }
+
+    @Override
+    public RecyclerView.ViewHolder getRecycledView(int viewType) {
+        //A miss does not mean a holder will be created: RecyclerView also asks while prefetching, and gives up if creating one would take too long
+        RecyclerView.ViewHolder holder = super.getRecycledView(viewType);
+        if(holder != null) {
+            inflationsAvoided++;
+            pooled.put(viewType, pooled.get(viewType) - 1);
+            onHandedOut(viewType);
+        }
+        return holder;
+    }
+
+    @Override
+    public void putRecycledView(RecyclerView.ViewHolder scrap) {
+        int viewType = scrap.getItemViewType();
+        if(known.add(scrap)) {
+            //Created (say, by a prefetch) and recycled without ever being attached
+            inflationsPerformed++;
+        } else {
+            inUse.put(viewType, Math.max(inUse.get(viewType) - 1, 0));
+        }
+        //Once the pool is full, it drops the holder
+        if(pooled.get(viewType) < maxRecycledViews.get(viewType, DEFAULT_MAX_RECYCLED_VIEWS)) {
+            pooled.put(viewType, pooled.get(viewType) + 1);
+        }
+        super.putRecycledView(scrap);
+    }
+
+    @Override
+    public void clear() {
+        for(int i = 0; i < pooled.size(); i++) {
+            pooled.put(pooled.keyAt(i), 0);
+        }
+        super.clear();
+    }
+
+    /**
+     * Counts a holder attached by a RecyclerView this pool is attached to as created, unless the pool has seen it before
+     */
+    void onViewHolderAttached(RecyclerView.ViewHolder holder) {
+        if(known.add(holder)) {
+            inflationsPerformed++;
+            onHandedOut(holder.getItemViewType());
+        }
+    }
+
+    /**
+     * Grows the limit for {@param viewType} to the largest number of its holders in use at once
+     */
+    private void onHandedOut(int viewType) {
+        int count = inUse.get(viewType) + 1;
+        inUse.put(viewType, count);
+        if(count > peakInUse.get(viewType)) {
+            peakInUse.put(viewType, count);
+            int max = Math.min(count, maxRecycledViewsCap);
+            if(max > maxRecycledViews.get(viewType, DEFAULT_MAX_RECYCLED_VIEWS)) {
+                setMaxRecycledViews(viewType, max);
+            }
+        }
+    }
+
+    /**
+     * @return the number of times a RecyclerView found a holder in this pool rather than having to create one
+     */
+    public int getInflationsAvoided() {
+        return inflationsAvoided;
+    }
+
+    /**
+     * @return the number of holders created by the RecyclerViews this pool is attached to, as far as the pool has seen them
+     */
+    public int getInflationsPerformed() {
+        return inflationsPerformed;
+    }
+
+    /**
+     * @return the largest number of holders of {@param viewType} observed in use at once
+     */
+    public int getPeakInUse(int viewType) {
+        return peakInUse.get(viewType);
+    }
+
+    public void resetCounters() {
+        inflationsAvoided = 0;
+        inflationsPerformed = 0;
+    }
+}
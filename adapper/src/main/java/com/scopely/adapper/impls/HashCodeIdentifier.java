@@ -16,6 +16,7 @@
 
 package com.scopely.adapper.impls;
 
+import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 
 import com.scopely.adapper.adapters.BaseAdapper;
@@ -33,7 +34,13 @@ public class HashCodeIdentifier implements Identifier {
 
     @Override
     public long getId(int position) {
-        Object obj = adapper.getItem(position);
+        return idOf(adapper.getItem(position));
+    }
+
+    /**
+     * @return the ID this Identifier gives {@param obj}, wherever it is in the Adapper
+     */
+    public static long idOf(@Nullable Object obj) {
         return obj != null ? obj.hashCode() : RecyclerView.NO_ID;
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.impls;
+
+import android.support.v7.widget.RecyclerView;
+
+import com.scopely.adapper.adapters.BaseAdapper;
+import com.scopely.adapper.interfaces.Bidentifier;
+import com.scopely.adapper.interfaces.Identifier;
+import com.scopely.adapper.interfaces.ReverseIdentifier;
+import com.scopely.adapper.utils.LongIntHashMap;
+import com.scopely.adapper.utils.SetUtils;
+
+import java.util.Set;
+
+/**
+ * A Bidentifier that looks ids up in an index from id to position, rather than comparing the id of every item as {@link NaiveLookup} does.
+ * The index is built in a single pass the first time it is needed after the Adapper has been notified of a change (see {@link BaseAdapper#getModificationCount()}),
+ * after which looking up k ids costs O(k). Any change, even to a single item, causes a full rebuild of O(n) on the next lookup, so this suits
+ * Adappers whose lookups far outnumber their changes.
+ * @param <T> the type of the models of the Adapper
+ */
+public class IndexedBidentifier<T> implements Bidentifier<T>, ReverseIdentifier {
+    private final BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper;
+    private final Identifier identifier;
+    private final LongIntHashMap positions = new LongIntHashMap();
+    private boolean indexed;
+    private int indexedModificationCount;
+
+    public IndexedBidentifier(BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper, Identifier identifier) {
+        this.adapper = adapper;
+        this.identifier = identifier;
+    }
+
+    @Override
+    public long getId(int position) {
+        return identifier.getId(position);
+    }
+
+    @Override
+    public int getPosition(long id) {
+        ensureIndexed();
+        return positions.get(id, RecyclerView.NO_POSITION);
+    }
+
+    @Override
+    public Set<T> getModels(Set<Long> ids) {
+        ensureIndexed();
+        Set<T> set = SetUtils.newSet(ids.size());
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            int position = positions.get(id, RecyclerView.NO_POSITION);
+            if (position != RecyclerView.NO_POSITION) {
+                set.add(adapper.getModel(position));
+            }
+        }
+        return set;
+    }
+
+    private void ensureIndexed() {
+        int modificationCount = adapper.getModificationCount();
+        if (indexed && indexedModificationCount == modificationCount) {
+            return;
+        }
+        positions.clear();
+        for (int i = 0; i < adapper.getItemCount(); i++) {
+            long id = identifier.getId(i);
+            if (id != RecyclerView.NO_ID) {
+                //Where ids collide, the first position wins
+                positions.putIfAbsent(id, i);
+            }
+        }
+        indexed = true;
+        indexedModificationCount = modificationCount;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.impls;
+
+import android.database.Cursor;
+
+import java.util.Arrays;
+
+/**
+ * The indices of a fixed list of columns within the columns of a {@link Cursor}, resolved by name once so that rows can be read by index.
+ * Instances are immutable, and so can be shared between threads; {@link #isFor(Cursor)} tells whether an instance can be used with a given Cursor.
+ * Only the column names of the cursor it was resolved against are kept, not the cursor itself.
+ */
+public class Projection {
+    private final String[] columns;
+    private final int[] indices;
+
+    private Projection(String[] columns, int[] indices) {
+        this.columns = columns;
+        this.indices = indices;
+    }
+
+    /**
+     * @return the indices of {@param columnNames} within {@param cursor}. Columns the cursor lacks resolve to -1.
+     */
+    public static Projection resolve(Cursor cursor, String... columnNames) {
+        int[] indices = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            indices[i] = cursor.getColumnIndex(columnNames[i]);
+        }
+        return new Projection(cursor.getColumnNames(), indices);
+    }
+
+    /**
+     * @return whether {@param cursor} has the same columns, in the same order, as the cursor this projection was resolved against,
+     * so that any cursor over the same query can share a projection
+     */
+    public boolean isFor(Cursor cursor) {
+        String[] columns = cursor.getColumnNames();
+        return columns == this.columns || Arrays.equals(columns, this.columns);
+    }
+
+    /**
+     * @param column the position of the column among the names this projection was resolved from
+     * @return the index of that column within the cursor
+     */
+    public int getIndex(int column) {
+        return indices[column];
+    }
+
+    public boolean isNull(Cursor cursor, int column) {
+        return cursor.isNull(indices[column]);
+    }
+
+    public String getString(Cursor cursor, int column) {
+        return cursor.getString(indices[column]);
+    }
+
+    public long getLong(Cursor cursor, int column) {
+        return cursor.getLong(indices[column]);
+    }
+
+    public int getInt(Cursor cursor, int column) {
+        return cursor.getInt(indices[column]);
+    }
+
+    public double getDouble(Cursor cursor, int column) {
+        return cursor.getDouble(indices[column]);
+    }
+
+    public byte[] getBlob(Cursor cursor, int column) {
+        return cursor.getBlob(indices[column]);
+    }
+}
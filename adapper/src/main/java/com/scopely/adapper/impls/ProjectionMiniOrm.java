@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.impls;
+
+import android.database.Cursor;
+
+import com.scopely.adapper.interfaces.MiniOrm;
+
+/**
+ * A {@link MiniOrm} that reads a fixed list of columns, resolving their indices once per set of columns rather than by name on every row,
+ * so cursors over the same query (such as a requeried or prefetched one) share the same indices.
+ * Columns are referred to by their position in the list of names given to the constructor:
+ * <pre>
+ * new ProjectionMiniOrm&lt;Song&gt;("_id", "title") {
+ *     protected Song getObject(Cursor c, Projection p) {
+ *         return new Song(p.getLong(c, 0), p.getString(c, 1));
+ *     }
+ * };
+ * </pre>
+ * @param <Model> the type of Object being mapped to
+ */
+public abstract class ProjectionMiniOrm<Model> implements MiniOrm<Model> {
+    private final String[] columnNames;
+    //Swapped as a whole, so that a thread decoding rows in the background never sees indices resolved against other columns
+    private volatile Projection projection;
+
+    public ProjectionMiniOrm(String... columnNames) {
+        this.columnNames = columnNames;
+    }
+
+    @Override
+    public final Model getObject(Cursor c) {
+        Projection projection = this.projection;
+        if (projection == null || !projection.isFor(c)) {
+            projection = Projection.resolve(c, columnNames);
+            this.projection = projection;
+        }
+        return getObject(c, projection);
+    }
+
+    /**
+     * @param c A Cursor positioned at the entry for which you wish to return an object of type Model
+     * @param projection the indices of the columns passed to the constructor, within {@param c}
+     */
+    protected abstract Model getObject(Cursor c, Projection projection);
+}
@@ -38,4 +38,17 @@ public abstract class TypedViewHolder<Model, GenericView extends View> extends R
 
     protected abstract void bind(GenericView view, Model model, int position, @Nullable SelectionManager selectionManager);
 
+    public boolean bindSelection(int position, SelectionManager selectionManager) {
+        return bindSelection(getView(), position, selectionManager);
+    }
+
+    /**
+     * Called instead of {@link #bind(View, Object, int, SelectionManager)} when only the selection state of the row changed.
+     * Override to update just the views that reflect selection, such as a checkbox.
+     * @return true if the view was updated, false to have it fully rebound
+     */
+    protected boolean bindSelection(GenericView view, int position, @Nullable SelectionManager selectionManager) {
+        return false;
+    }
+
 }
@@ -50,11 +50,23 @@ public abstract class ViewProviderImpl<Model, GenericView extends View> implemen
             protected void bind(GenericView view, Model model, int position, SelectionManager selectionManager) {
                 ViewProviderImpl.this.bind(view, model, position, selectionManager);
             }
+
+            @Override
+            protected boolean bindSelection(GenericView view, int position, SelectionManager selectionManager) {
+                return ViewProviderImpl.this.bindSelection(view, position, selectionManager);
+            }
         };
     }
 
     protected abstract void bind(GenericView view, Model model, int position, @Nullable SelectionManager selectionManager);
 
+    /**
+     * See {@link TypedViewHolder#bindSelection(View, int, SelectionManager)}
+     */
+    protected boolean bindSelection(GenericView view, int position, @Nullable SelectionManager selectionManager) {
+        return false;
+    }
+
     @Override
     @LayoutRes
     public abstract int getViewType(Model model);
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+/**
+ * A {@link SectionFactory} whose {@link #create()} is safe to call off the main thread, so that sections are materialized without blocking it.
+ * The Adapper it creates is only used on the main thread once it has been handed over.
+ */
+public interface BackgroundSectionFactory<Model> extends SectionFactory<Model> {
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+/**
+ * A {@link SelectionManager} that can change the selection state of many items at once, notifying of the change in as few ranges as possible.
+ * Positions that are not models (such as group headers, see {@link com.scopely.adapper.adapters.BaseAdapper#isModel(int)}) are skipped.
+ * @param <T> the type of objects backing the list
+ */
+public interface BulkSelectionManager<T> extends SelectionManager<T> {
+    /**
+     * Selects the {@param itemCount} items starting at {@param positionStart}, stopping if the maximum number of selections is reached
+     * @return true if every item in the range ended up selected
+     */
+    boolean selectRange(int positionStart, int itemCount);
+
+    /**
+     * Deselects the {@param itemCount} items starting at {@param positionStart}
+     */
+    void deselectRange(int positionStart, int itemCount);
+
+    /**
+     * Selects every item, unless the maximum number of selections would be exceeded, in which case nothing is selected.
+     * Implementations without a maximum may also select items added later (see {@link com.scopely.adapper.selection.MultiSelectManager}).
+     * @return true if the items were selected
+     */
+    boolean selectAll();
+
+    /**
+     * Selects every item that is not selected, and deselects every item that is, unless the maximum number of selections would be exceeded
+     * @return true if the selection was inverted
+     */
+    boolean invertSelection();
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+import android.support.annotation.Nullable;
+
+/**
+ * A {@link android.widget.Filter} that may apply its results to its Adapper some time after it has published them, such as when the query is debounced.
+ * Whoever wraps the Filter (typically the composite Filter of a {@link com.scopely.adapper.adapters.RecursiveAdapper}) is told when that happens,
+ * so that it can notify its own observers.
+ */
+public interface DeferredFilter {
+    /**
+     * @param listener run on the main thread each time results are applied after being published, or null to stop being told
+     */
+    void setDeferredResultsListener(@Nullable Runnable listener);
+}
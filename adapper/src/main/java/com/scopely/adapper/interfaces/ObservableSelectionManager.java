@@ -0,0 +1,30 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+/**
+ * A {@link SelectionManager} that reports changes in its selections to {@link SelectionListener}s
+ * @param <T> the type of objects backing the list
+ */
+public interface ObservableSelectionManager<T> extends SelectionManager<T> {
+    /**
+     * Adds a listener, called synchronously once per operation that changes the selections
+     */
+    void addSelectionListener(SelectionListener listener);
+
+    void removeSelectionListener(SelectionListener listener);
+}
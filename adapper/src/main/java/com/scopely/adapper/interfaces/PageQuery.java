@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+import android.database.Cursor;
+
+/**
+ * A source of fixed-size pages of rows, used by {@link com.scopely.adapper.adapters.PagedCursorAdapper}.
+ * Both methods are called on a background thread.
+ */
+public interface PageQuery {
+    /**
+     * @return the total number of rows across all pages
+     */
+    int getCount();
+
+    /**
+     * @return a Cursor over at most {@param limit} rows, starting at row {@param offset}. It will be closed once its rows have been read.
+     */
+    Cursor getPage(int offset, int limit);
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+/**
+ * An Adapper that can prepare rows ahead of them being bound, typically by decoding them in the background.
+ * See {@link com.scopely.adapper.extras.PrefetchScrollListener}.
+ */
+public interface Prefetchable {
+    /**
+     * Prepares the rows from {@param start} to {@param end}, inclusive. Positions outside the Adapper are ignored.
+     */
+    void prefetch(int start, int end);
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+import android.os.Bundle;
+import android.support.annotation.Nullable;
+
+/**
+ * A {@link SelectionManager} that can save its selections and restore them across configuration changes and process death.
+ * Only ids are saved, so restoring does not look up any models.
+ * @param <T> the type of objects backing the list
+ */
+public interface RestorableSelectionManager<T> extends SelectionManager<T> {
+    /**
+     * Writes the selections to {@param outState}. The keys used are fixed, so each manager needs a Bundle of its own.
+     */
+    void onSaveInstanceState(Bundle outState);
+
+    /**
+     * Replaces the selections with those saved to {@param savedInstanceState}. Leaves them as they are if the Bundle is null,
+     * or if nothing was saved to it by a manager of the same kind.
+     */
+    void onRestoreInstanceState(@Nullable Bundle savedInstanceState);
+}
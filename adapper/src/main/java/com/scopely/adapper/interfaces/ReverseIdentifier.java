@@ -0,0 +1,28 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+/**
+ * Maps an id back to the position of the item it identifies; the reverse of {@link Identifier}.
+ * Implemented by {@link Bidentifier}s that can do better than scanning every position, see {@link com.scopely.adapper.adapters.BaseAdapper#getPosition(long)}.
+ */
+public interface ReverseIdentifier {
+    /**
+     * @return the position of the item identified by {@param id}, or {@link android.support.v7.widget.RecyclerView#NO_POSITION} if it is not displayed
+     */
+    int getPosition(long id);
+}
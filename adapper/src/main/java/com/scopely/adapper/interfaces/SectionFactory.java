@@ -0,0 +1,30 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+import android.support.v7.widget.RecyclerView;
+
+import com.scopely.adapper.adapters.BaseAdapper;
+
+public interface SectionFactory<Model> {
+    /**
+     * Creates the Adapper backing a section. Called at most once per section, once the section is about to become visible: on the main thread,
+     * unless this is a {@link BackgroundSectionFactory}, in which case on a background thread.
+     * Any expensive work required to display the section (loading data, building a {@link com.scopely.adapper.interfaces.ViewProvider}) belongs here rather than up front.
+     */
+    BaseAdapper<? extends Model, ? extends RecyclerView.ViewHolder> create();
+}
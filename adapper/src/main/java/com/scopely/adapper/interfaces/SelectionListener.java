@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.interfaces;
+
+/**
+ * Receives changes in the selections of a {@link SelectionManager}, as the ids that were selected and deselected, so that
+ * counters and toolbars can be kept up to date without calling {@link SelectionManager#getSelections()}.
+ * Each call describes one whole operation, such as selecting a range; see {@link com.scopely.adapper.selection.CoalescingSelectionListener}
+ * for receiving at most one call per frame.
+ */
+public interface SelectionListener {
+    /**
+     * Called after the items identified by {@param added} were selected and those identified by {@param removed} deselected
+     */
+    void onSelectionChanged(long[] added, long[] removed);
+
+    /**
+     * Called after a change that is not described by a list of ids, such as selecting every item, after which the selections need to be read again
+     */
+    void onSelectionReset();
+}
@@ -24,6 +24,12 @@ import java.util.Set;
  * @param <T> the type of objects backing the list
  */
 public interface SelectionManager<T> {
+    /**
+     * The payload with which SelectionManagers notify of a change in the selection state of an item, as opposed to a change in the item itself.
+     * Views can check for it in order to only update how they display selection, rather than bind the item again.
+     */
+    Object SELECTION_PAYLOAD = "com.scopely.adapper.SELECTION";
+
     /**
      * User has indicated they wish to select or unselect the item at {@param position}
      * @return true if selection was accepted
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.selection;
+
+import com.scopely.adapper.interfaces.SelectionListener;
+import com.scopely.adapper.utils.LongHashSet;
+import com.scopely.adapper.utils.ThreadUtils;
+
+/**
+ * A {@link SelectionListener} that collects the changes made while handling one event on the main thread, such as a drag across many rows,
+ * and passes them on to another listener as a single change once the event is handled.
+ * An item selected and then deselected before that is not reported at all.
+ */
+public class CoalescingSelectionListener implements SelectionListener {
+    private final SelectionListener listener;
+    private final LongHashSet added = new LongHashSet();
+    private final LongHashSet removed = new LongHashSet();
+    private boolean reset;
+    private boolean posted;
+
+    private final Runnable dispatch = new Runnable() {
+        @Override
+        public void run() {
+            posted = false;
+            if (reset) {
+                reset = false;
+                listener.onSelectionReset();
+            } else if (!added.isEmpty() || !removed.isEmpty()) {
+                long[] addedIds = added.toLongArray();
+                long[] removedIds = removed.toLongArray();
+                added.clear();
+                removed.clear();
+                listener.onSelectionChanged(addedIds, removedIds);
+            }
+        }
+    };
+
+    public CoalescingSelectionListener(SelectionListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void onSelectionChanged(long[] added, long[] removed) {
+        if (!reset) {
+            for (long id : added) {
+                if (!this.removed.remove(id)) {
+                    this.added.add(id);
+                }
+            }
+            for (long id : removed) {
+                if (!this.added.remove(id)) {
+                    this.removed.add(id);
+                }
+            }
+        }
+        post();
+    }
+
+    @Override
+    public void onSelectionReset() {
+        //the listener reads the selections again, which covers any change made in the meantime
+        reset = true;
+        added.clear();
+        removed.clear();
+        post();
+    }
+
+    private void post() {
+        if (!posted) {
+            posted = true;
+            ThreadUtils.postToMain(dispatch);
+        }
+    }
+}
@@ -16,22 +16,39 @@
 
 package com.scopely.adapper.selection;
 
+import android.os.Bundle;
+import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 
 import com.scopely.adapper.adapters.BaseAdapper;
-import com.scopely.adapper.interfaces.SelectionManager;
-import com.scopely.adapper.utils.SetUtils;
+import com.scopely.adapper.interfaces.BulkSelectionManager;
+import com.scopely.adapper.interfaces.ObservableSelectionManager;
+import com.scopely.adapper.interfaces.RestorableSelectionManager;
+import com.scopely.adapper.interfaces.SelectionListener;
+import com.scopely.adapper.utils.LongArrayCodec;
+import com.scopely.adapper.utils.LongHashSet;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
  * An implementation of SelectionManager that allows multiple items to be selected at a time.
  * Selecting a new item will add it to the set of selections, up to a defined maximum number of selected items.
+ * When there is no maximum, {@link #selectAll()} and {@link #invertSelection()} flip the set into an inverted mode, in which it holds
+ * the IDs of the items that are <i>not</i> selected, so that selecting everything costs nothing no matter how long the list is.
  */
-public class MultiSelectManager<T> implements SelectionManager<T> {
-    private final Set<Long> selected; //Set of IDs of selected items
+public class MultiSelectManager<T> implements BulkSelectionManager<T>, RestorableSelectionManager<T>, ObservableSelectionManager<T> {
+    private static final String KEY_IDS = "com.scopely.adapper.selection.MultiSelectManager.ids";
+    private static final String KEY_INVERTED = "com.scopely.adapper.selection.MultiSelectManager.inverted";
+    public static final float DEFAULT_FULL_REFRESH_THRESHOLD = 0.25f;
+
+    private final LongHashSet selected; //Set of IDs of selected items, or of deselected items if inverted
     private final BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper;
     private final int maximumSelectable;
+    private float fullRefreshThreshold = DEFAULT_FULL_REFRESH_THRESHOLD;
+    private boolean inverted;
+    private final SelectionListeners listeners = new SelectionListeners();
 
     public MultiSelectManager(BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper) {
         this(adapper, Integer.MAX_VALUE);
@@ -39,7 +56,7 @@ public class MultiSelectManager<T> implements SelectionManager<T> {
 
     public MultiSelectManager(BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper, int maximumSelectable) {
         this.maximumSelectable = maximumSelectable;
-        selected = SetUtils.newSet();
+        selected = new LongHashSet();
         this.adapper = adapper;
         if(!adapper.hasStableIds()) {
             throw new RuntimeException("You cannot use SelectionManager with an Adapper that does not have stable ids");
@@ -48,41 +65,299 @@ public class MultiSelectManager<T> implements SelectionManager<T> {
 
     @Override
     public boolean selectItem(int position, boolean selected) {
+        long id = adapper.getItemId(position);
         if(selected) {
-            if(this.selected.size() == maximumSelectable) {
+            if(!inverted && this.selected.size() == maximumSelectable && !this.selected.contains(id)) {
                 onMaximumExceeded(maximumSelectable);
                 return false;
             }
-            this.selected.add(adapper.getItemId(position));
-        } else {
-            this.selected.remove(adapper.getItemId(position));
         }
-        adapper.notifyItemChanged(position);
+        boolean changed = setSelected(id, selected);
+        adapper.notifyItemChanged(position, SELECTION_PAYLOAD);
+        if(changed && !listeners.isEmpty()) {
+            long[] ids = new long[]{id};
+            listeners.dispatchChanged(selected ? ids : SelectionListeners.NO_IDS, selected ? SelectionListeners.NO_IDS : ids);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean selectRange(int positionStart, int itemCount) {
+        int end = positionStart + itemCount;
+        int runStart = -1;
+        int runEnd = -1;
+        boolean complete = true;
+        LongHashSet added = listeners.isEmpty() ? null : new LongHashSet();
+        for (int position = positionStart; position < end; position++) {
+            if(!adapper.isModel(position)) {
+                continue;
+            }
+            long id = adapper.getItemId(position);
+            if(isSelected(id)) {
+                continue;
+            }
+            if(!inverted && selected.size() >= maximumSelectable) {
+                onMaximumExceeded(maximumSelectable);
+                complete = false;
+                break;
+            }
+            setSelected(id, true);
+            if(added != null) {
+                added.add(id);
+            }
+            if(runStart == -1) {
+                runStart = position;
+            }
+            runEnd = position + 1;
+        }
+        //Unchanged positions inside the run are rebound too; that is cheaper than splitting the notification
+        if(runStart != -1) {
+            notifyRange(runStart, runEnd);
+        }
+        if(added != null) {
+            listeners.dispatchChanged(added.toLongArray(), SelectionListeners.NO_IDS);
+        }
+        return complete;
+    }
+
+    @Override
+    public void deselectRange(int positionStart, int itemCount) {
+        int end = positionStart + itemCount;
+        int runStart = -1;
+        int runEnd = -1;
+        LongHashSet removed = listeners.isEmpty() ? null : new LongHashSet();
+        for (int position = positionStart; position < end; position++) {
+            if(!adapper.isModel(position)) {
+                continue;
+            }
+            long id = adapper.getItemId(position);
+            if(!isSelected(id)) {
+                continue;
+            }
+            setSelected(id, false);
+            if(removed != null) {
+                removed.add(id);
+            }
+            if(runStart == -1) {
+                runStart = position;
+            }
+            runEnd = position + 1;
+        }
+        if(runStart != -1) {
+            notifyRange(runStart, runEnd);
+        }
+        if(removed != null) {
+            listeners.dispatchChanged(SelectionListeners.NO_IDS, removed.toLongArray());
+        }
+    }
+
+    @Override
+    public boolean selectAll() {
+        if(maximumSelectable != Integer.MAX_VALUE) {
+            //All or nothing, as with invertSelection(), rather than selecting up to the maximum
+            int count = adapper.getItemCount();
+            int models = 0;
+            for (int position = 0; position < count; position++) {
+                if(adapper.isModel(position)) {
+                    models++;
+                }
+            }
+            if(models > maximumSelectable) {
+                onMaximumExceeded(maximumSelectable);
+                return false;
+            }
+            return selectRange(0, count);
+        }
+        inverted = true;
+        selected.clear();
+        notifyRange(0, adapper.getItemCount());
+        listeners.dispatchReset();
         return true;
     }
 
+    @Override
+    public boolean invertSelection() {
+        if(maximumSelectable == Integer.MAX_VALUE) {
+            //The same set of IDs, read the other way around
+            inverted = !inverted;
+            notifyRange(0, adapper.getItemCount());
+            listeners.dispatchReset();
+            return true;
+        }
+        int count = adapper.getItemCount();
+        LongHashSet inverse = new LongHashSet();
+        for (int position = 0; position < count; position++) {
+            if(adapper.isModel(position)) {
+                long id = adapper.getItemId(position);
+                if(!selected.contains(id)) {
+                    inverse.add(id);
+                }
+            }
+        }
+        if(inverse.size() > maximumSelectable) {
+            onMaximumExceeded(maximumSelectable);
+            return false;
+        }
+        long[] removed = listeners.isEmpty() ? null : selected.toLongArray();
+        selected.clear();
+        selected.addAll(inverse);
+        notifyRange(0, count);
+        if(removed != null) {
+            listeners.dispatchChanged(inverse.toLongArray(), removed);
+        }
+        return true;
+    }
+
+    /**
+     * Sets the fraction of the items that must be selected for {@link #clearSelections()} to refresh every item,
+     * rather than look up the position of each selected item and refresh only those. Defaults to {@link #DEFAULT_FULL_REFRESH_THRESHOLD}.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    public MultiSelectManager<T> setFullRefreshThreshold(float fullRefreshThreshold) {
+        this.fullRefreshThreshold = fullRefreshThreshold;
+        return this;
+    }
+
     protected void onMaximumExceeded(int maximumSelectable) {
         //Override in order to process events when the user attempts to select more than the maximum number allowed.
     }
 
     @Override
     public boolean isItemSelected(int position) {
-        return selected.contains(adapper.getItemId(position));
+        return isSelected(adapper.getItemId(position));
     }
 
     @Override
     public void clearSelections() {
+        boolean wasInverted = inverted;
+        int itemCount = adapper.getItemCount();
+        boolean refreshAll = wasInverted || selected.size() > fullRefreshThreshold * itemCount;
+        long[] removed = refreshAll && listeners.isEmpty() ? null : selected.toLongArray();
+        inverted = false;
         selected.clear();
-        adapper.notifyDataSetChanged();
+        if(refreshAll) {
+            notifyRange(0, itemCount);
+        } else {
+            notifyPositionsOf(removed);
+        }
+        if(wasInverted) {
+            listeners.dispatchReset();
+        } else if(removed != null && !listeners.isEmpty()) {
+            listeners.dispatchChanged(SelectionListeners.NO_IDS, removed);
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public Set<? extends T> getSelections() {
-        return adapper.getItems(selected);
+        if(!inverted) {
+            return adapper.getItems(selected);
+        }
+        Set<T> selections = new HashSet<>();
+        int count = adapper.getItemCount();
+        for (int position = 0; position < count; position++) {
+            if(adapper.isModel(position) && !selected.contains(adapper.getItemId(position))) {
+                selections.add(adapper.getModel(position));
+            }
+        }
+        return selections;
     }
 
     public int getCount() {
-        return selected.size();
+        if(!inverted) {
+            return selected.size();
+        }
+        int count = 0;
+        int itemCount = adapper.getItemCount();
+        for (int position = 0; position < itemCount; position++) {
+            if(adapper.isModel(position) && !selected.contains(adapper.getItemId(position))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Saves the selected ids packed by {@link LongArrayCodec}. After {@link #selectAll()} only the deselected ids are saved.
+     */
+    @Override
+    public void onSaveInstanceState(Bundle outState) {
+        outState.putByteArray(KEY_IDS, LongArrayCodec.encode(selected.toLongArray()));
+        outState.putBoolean(KEY_INVERTED, inverted);
+    }
+
+    @Override
+    public void onRestoreInstanceState(@Nullable Bundle savedInstanceState) {
+        byte[] ids = savedInstanceState != null ? savedInstanceState.getByteArray(KEY_IDS) : null;
+        if (ids == null) {
+            return;
+        }
+        selected.clear();
+        for (long id : LongArrayCodec.decode(ids)) {
+            selected.add(id);
+        }
+        inverted = savedInstanceState.getBoolean(KEY_INVERTED);
+        notifyRange(0, adapper.getItemCount());
+        listeners.dispatchReset();
+    }
+
+    @Override
+    public void addSelectionListener(SelectionListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeSelectionListener(SelectionListener listener) {
+        listeners.remove(listener);
+    }
+
+    private boolean isSelected(long id) {
+        return inverted != selected.contains(id);
+    }
+
+    /**
+     * @return true if the selection state of the item changed
+     */
+    private boolean setSelected(long id, boolean selected) {
+        if(selected != inverted) {
+            return this.selected.add(id);
+        } else {
+            return this.selected.remove(id);
+        }
+    }
+
+    /**
+     * Notifies the positions of the items identified by {@param ids}, grouping neighbouring positions into ranges. Items not displayed are skipped.
+     * Looking each id up would scan the whole Adapper without a {@link com.scopely.adapper.interfaces.ReverseIdentifier}, so every position is notified instead.
+     */
+    private void notifyPositionsOf(long[] ids) {
+        if(!adapper.hasReverseIdentifier()) {
+            notifyRange(0, adapper.getItemCount());
+            return;
+        }
+        int[] positions = new int[ids.length];
+        int count = 0;
+        for (long id : ids) {
+            int position = adapper.getPosition(id);
+            if(position != RecyclerView.NO_POSITION) {
+                positions[count++] = position;
+            }
+        }
+        Arrays.sort(positions, 0, count);
+        int i = 0;
+        while (i < count) {
+            int start = positions[i];
+            int end = start + 1;
+            while (++i < count && positions[i] <= end) {
+                end = positions[i] + 1;
+            }
+            notifyRange(start, end);
+        }
+    }
+
+    private void notifyRange(int start, int end) {
+        if(end > start) {
+            adapper.notifyItemRangeChanged(start, end - start, SELECTION_PAYLOAD);
+        }
     }
 }
@@ -16,11 +16,14 @@
 
 package com.scopely.adapper.selection;
 
+import android.os.Bundle;
 import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 
 import com.scopely.adapper.adapters.BaseAdapper;
-import com.scopely.adapper.interfaces.SelectionManager;
+import com.scopely.adapper.interfaces.ObservableSelectionManager;
+import com.scopely.adapper.interfaces.RestorableSelectionManager;
+import com.scopely.adapper.interfaces.SelectionListener;
 
 import java.util.Collections;
 import java.util.Set;
@@ -29,10 +32,14 @@ import java.util.Set;
  * An implementation of SelectionManager that allows a single item to be selected at a time.
  * Selecting a new item will clear the existing selection.
  */
-public class RadioSelectManager<T> implements SelectionManager {
-    @Nullable
-    private Long selected; //the ID of the selected item, as returned by adapper.getItemId(position)
+public class RadioSelectManager<T> implements RestorableSelectionManager, ObservableSelectionManager {
+    private static final String KEY_SELECTED = "com.scopely.adapper.selection.RadioSelectManager.selected";
+
+    private boolean hasSelection;
+    private long selected; //the ID of the selected item, as returned by adapper.getItemId(position)
+    private int selectedPosition = RecyclerView.NO_POSITION; //where the selected item was last seen, which may have changed since
     private final BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper;
+    private final SelectionListeners listeners = new SelectionListeners();
 
     public RadioSelectManager(BaseAdapper<? extends T, ? extends RecyclerView.ViewHolder> adapper) {
         this.adapper = adapper;
@@ -43,25 +50,104 @@ public class RadioSelectManager<T> implements SelectionManager {
 
     @Override
     public boolean selectItem(int position, boolean selected) {
-        this.selected = selected ? adapper.getItemId(position) : null;
-        adapper.notifyDataSetChanged();
+        int oldPosition = getSelectedPosition();
+        boolean hadSelection = this.hasSelection;
+        long oldSelected = this.selected;
+        this.hasSelection = selected;
+        this.selected = selected ? adapper.getItemId(position) : RecyclerView.NO_ID;
+        this.selectedPosition = selected ? position : RecyclerView.NO_POSITION;
+        if (oldPosition != RecyclerView.NO_POSITION && oldPosition != position) {
+            adapper.notifyItemChanged(oldPosition, SELECTION_PAYLOAD);
+        }
+        adapper.notifyItemChanged(position, SELECTION_PAYLOAD);
+        dispatchChanged(hadSelection, oldSelected);
         return true;
     }
 
+    /**
+     * @return the current position of the selected item, or {@link RecyclerView#NO_POSITION} if there is none or it is not displayed
+     */
+    private int getSelectedPosition() {
+        if (!hasSelection) {
+            return RecyclerView.NO_POSITION;
+        }
+        if (selectedPosition != RecyclerView.NO_POSITION && selectedPosition < adapper.getItemCount() && adapper.getItemId(selectedPosition) == selected) {
+            return selectedPosition;
+        }
+        selectedPosition = adapper.getPosition(selected);
+        return selectedPosition;
+    }
+
     @Override
     public boolean isItemSelected(int position) {
-        return selected != null && selected == adapper.getItemId(position);
+        return hasSelection && selected == adapper.getItemId(position);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public Set<? extends T> getSelections() {
-        return adapper.getItems(Collections.singleton(selected));
+        return hasSelection ? adapper.getItems(Collections.singleton(selected)) : Collections.EMPTY_SET;
     }
 
     @Override
     public void clearSelections() {
-        selected = null;
-        adapper.notifyDataSetChanged();
+        int oldPosition = getSelectedPosition();
+        boolean hadSelection = hasSelection;
+        long oldSelected = selected;
+        hasSelection = false;
+        selected = RecyclerView.NO_ID;
+        selectedPosition = RecyclerView.NO_POSITION;
+        if (oldPosition != RecyclerView.NO_POSITION) {
+            adapper.notifyItemChanged(oldPosition, SELECTION_PAYLOAD);
+        }
+        dispatchChanged(hadSelection, oldSelected);
+    }
+
+    /**
+     * Saves the id of the selected item, or {@link RecyclerView#NO_ID} if there is none, so that having no selection is restored too.
+     */
+    @Override
+    public void onSaveInstanceState(Bundle outState) {
+        outState.putLong(KEY_SELECTED, hasSelection ? selected : RecyclerView.NO_ID);
+    }
+
+    @Override
+    public void onRestoreInstanceState(@Nullable Bundle savedInstanceState) {
+        //As with MultiSelectManager, a Bundle this manager saved nothing to leaves the selection alone
+        if (savedInstanceState == null || !savedInstanceState.containsKey(KEY_SELECTED)) {
+            return;
+        }
+        int oldPosition = getSelectedPosition();
+        boolean hadSelection = hasSelection;
+        long oldSelected = selected;
+        selected = savedInstanceState.getLong(KEY_SELECTED);
+        hasSelection = selected != RecyclerView.NO_ID;
+        selectedPosition = RecyclerView.NO_POSITION;
+        int newPosition = getSelectedPosition();
+        if (oldPosition != RecyclerView.NO_POSITION && oldPosition != newPosition) {
+            adapper.notifyItemChanged(oldPosition, SELECTION_PAYLOAD);
+        }
+        if (newPosition != RecyclerView.NO_POSITION) {
+            adapper.notifyItemChanged(newPosition, SELECTION_PAYLOAD);
+        }
+        dispatchChanged(hadSelection, oldSelected);
+    }
+
+    @Override
+    public void addSelectionListener(SelectionListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeSelectionListener(SelectionListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void dispatchChanged(boolean hadSelection, long oldSelected) {
+        if (hadSelection == hasSelection && oldSelected == selected) {
+            return;
+        }
+        listeners.dispatchChanged(hasSelection ? new long[]{selected} : SelectionListeners.NO_IDS,
+                hadSelection ? new long[]{oldSelected} : SelectionListeners.NO_IDS);
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.selection;
+
+import com.scopely.adapper.interfaces.SelectionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link SelectionListener}s of a SelectionManager
+ */
+class SelectionListeners {
+    static final long[] NO_IDS = new long[0];
+
+    private final List<SelectionListener> listeners = new ArrayList<>();
+
+    void add(SelectionListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    void remove(SelectionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return true if there is no one to notify, in which case changes need not be collected
+     */
+    boolean isEmpty() {
+        return listeners.isEmpty();
+    }
+
+    void dispatchChanged(long[] added, long[] removed) {
+        if (added.length == 0 && removed.length == 0) {
+            return;
+        }
+        for (SelectionListener listener : new ArrayList<>(listeners)) {
+            listener.onSelectionChanged(added, removed);
+        }
+    }
+
+    void dispatchReset() {
+        for (SelectionListener listener : new ArrayList<>(listeners)) {
+            listener.onSelectionReset();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import android.database.Cursor;
+import android.support.annotation.Nullable;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.scopely.adapper.impls.TypedViewHolder;
+import com.scopely.adapper.interfaces.MiniOrm;
+import com.scopely.adapper.interfaces.SelectionManager;
+import com.scopely.adapper.interfaces.ViewProvider;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * A {@link java.util.List} view of the rows of a {@link Cursor}, so that SQL results can be displayed by a {@link com.scopely.adapper.adapters.ListAdapper}
+ * or {@link com.scopely.adapper.adapters.GroupableAdapper}, and animated with {@link com.scopely.adapper.interfaces.Reorderable#update()} when requeried.
+ * The ids and chosen key columns of every row, and a hash of all of its columns, are read up front, in a single pass, into primitive arrays; models are only decoded
+ * through the {@link MiniOrm} when a row's {@link Row#getModel()} is first called, so that sorting, grouping and diffing by key and id never decode a row.
+ * The order of the rows can be changed with {@link #set(int, Row)}, and so by {@link java.util.Collections#sort(java.util.List)}, but rows cannot be added or removed.
+ * Keeps the Cursor open for decoding rows, and has to be closed once its rows are no longer displayed.
+ * @param <Model> The class of object which a single row maps to
+ */
+public class CursorSnapshot<Model> extends AbstractList<CursorSnapshot.Row<Model>> {
+    private final Cursor cursor;
+    private final MiniOrm<Model> miniOrm;
+    private final long[] ids;
+    private final int[] hashes;
+    //Each a long[] if every row of the column holds an integer, and a String[] otherwise
+    private final Object[] keys;
+    //The cursor position of the row at each index of the list
+    private final int[] order;
+    private final Object[] models;
+
+    /**
+     * Reads {@param cursor} from its first row to its last. Can be called on a background thread, as long as the cursor is not used elsewhere meanwhile.
+     * @param idColumn an integer column, unique to each row, by which rows are identified and compared
+     * @param keyColumns the columns to make available without decoding a row, see {@link Row#getLong(int)} and {@link Row#getString(int)}
+     */
+    public CursorSnapshot(Cursor cursor, MiniOrm<Model> miniOrm, String idColumn, String... keyColumns) {
+        this.cursor = cursor;
+        this.miniOrm = miniOrm;
+        int count = cursor.getCount();
+        ids = new long[count];
+        hashes = new int[count];
+        keys = new Object[keyColumns.length];
+        order = new int[count];
+        models = new Object[count];
+        int idIndex = cursor.getColumnIndexOrThrow(idColumn);
+        int[] keyIndices = new int[keyColumns.length];
+        for (int k = 0; k < keyColumns.length; k++) {
+            keyIndices[k] = cursor.getColumnIndexOrThrow(keyColumns[k]);
+            keys[k] = new long[count];
+        }
+        cursor.moveToPosition(-1);
+        for (int i = 0; cursor.moveToNext(); i++) {
+            ids[i] = cursor.getLong(idIndex);
+            hashes[i] = hashRow(cursor);
+            order[i] = i;
+            for (int k = 0; k < keyIndices.length; k++) {
+                if (keys[k] instanceof long[]) {
+                    if (cursor.getType(keyIndices[k]) == Cursor.FIELD_TYPE_INTEGER) {
+                        ((long[]) keys[k])[i] = cursor.getLong(keyIndices[k]);
+                        continue;
+                    }
+                    //SQLite columns are not typed, so one row that is not an integer turns the whole column into strings
+                    keys[k] = toStrings((long[]) keys[k], i);
+                }
+                ((String[]) keys[k])[i] = cursor.getString(keyIndices[k]);
+            }
+        }
+    }
+
+    /**
+     * @return a hash of every column of the row {@param cursor} is at
+     */
+    private static int hashRow(Cursor cursor) {
+        int hash = 1;
+        for (int column = 0; column < cursor.getColumnCount(); column++) {
+            int value;
+            switch (cursor.getType(column)) {
+                case Cursor.FIELD_TYPE_NULL:
+                    value = 0;
+                    break;
+                case Cursor.FIELD_TYPE_INTEGER:
+                    long integer = cursor.getLong(column);
+                    value = (int) (integer ^ (integer >>> 32));
+                    break;
+                case Cursor.FIELD_TYPE_FLOAT:
+                    long bits = Double.doubleToLongBits(cursor.getDouble(column));
+                    value = (int) (bits ^ (bits >>> 32));
+                    break;
+                case Cursor.FIELD_TYPE_BLOB:
+                    value = Arrays.hashCode(cursor.getBlob(column));
+                    break;
+                default:
+                    value = cursor.getString(column).hashCode();
+            }
+            hash = 31 * hash + value;
+        }
+        return hash;
+    }
+
+    private static String[] toStrings(long[] values, int count) {
+        String[] strings = new String[values.length];
+        for (int i = 0; i < count; i++) {
+            strings[i] = String.valueOf(values[i]);
+        }
+        return strings;
+    }
+
+    @Override
+    public Row<Model> get(int index) {
+        if (index < 0 || index >= order.length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + order.length);
+        }
+        return new Row<>(this, order[index]);
+    }
+
+    /**
+     * Moves {@param row}, which has to be a row of this snapshot, to {@param index}.
+     */
+    @Override
+    public Row<Model> set(int index, Row<Model> row) {
+        if (row.snapshot != this) {
+            throw new IllegalArgumentException(row + " is not a row of this snapshot");
+        }
+        Row<Model> previous = get(index);
+        order[index] = row.position;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return order.length;
+    }
+
+    public void close() {
+        cursor.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Model getModel(int position) {
+        Object model = models[position];
+        if (model == null && !cursor.isClosed() && cursor.moveToPosition(position)) {
+            model = miniOrm.getObject(cursor);
+            models[position] = model;
+        }
+        return (Model) model;
+    }
+
+    /**
+     * @return a ViewProvider that displays each {@link Row} as {@param provider} displays its model
+     */
+    public static <Model, GenericView extends View> ViewProvider<Row<Model>, GenericView> wrap(ViewProvider<? super Model, GenericView> provider) {
+        return new RowViewProvider<>(provider);
+    }
+
+    /**
+     * A row of a {@link CursorSnapshot}. Rows are equal when their ids and the hashes of their columns are, so that a row keeps its identity across snapshots
+     * of successive queries as long as it is unchanged, while a row that was edited reads as removed and inserted again, and so is rebound on {@link com.scopely.adapper.interfaces.Reorderable#update()}.
+     * The hash code of a row is that of its id alone, so the id a {@link com.scopely.adapper.adapters.ListAdapper} gives it, and so its selection, survives the edit.
+     * Rows are created as they are asked for, and only refer to their place in the cursor, so any number can be held for the same row.
+     */
+    public static final class Row<Model> {
+        private final CursorSnapshot<Model> snapshot;
+        private final int position;
+
+        private Row(CursorSnapshot<Model> snapshot, int position) {
+            this.snapshot = snapshot;
+            this.position = position;
+        }
+
+        public long getId() {
+            return snapshot.ids[position];
+        }
+
+        /**
+         * @return the model this row maps to, decoded the first time it is asked for. Null if the snapshot has been closed before then.
+         */
+        @Nullable
+        public Model getModel() {
+            return snapshot.getModel(position);
+        }
+
+        /**
+         * @param key the position of the column among the key columns the snapshot was created with
+         */
+        public long getLong(int key) {
+            Object column = snapshot.keys[key];
+            if (column instanceof long[]) {
+                return ((long[]) column)[position];
+            }
+            //As with Cursor#getLong(int), a null reads as 0
+            String value = ((String[]) column)[position];
+            return value != null ? Long.parseLong(value) : 0;
+        }
+
+        /**
+         * @param key the position of the column among the key columns the snapshot was created with
+         */
+        public String getString(int key) {
+            Object column = snapshot.keys[key];
+            return column instanceof long[] ? String.valueOf(((long[]) column)[position]) : ((String[]) column)[position];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Row && ((Row) o).getId() == getId() && ((Row) o).getHash() == getHash();
+        }
+
+        private int getHash() {
+            return snapshot.hashes[position];
+        }
+
+        @Override
+        public int hashCode() {
+            long id = getId();
+            return (int) (id ^ (id >>> 32));
+        }
+
+        @Override
+        public String toString() {
+            return "Row " + getId();
+        }
+    }
+
+    private static class RowViewProvider<Model, GenericView extends View> implements ViewProvider<Row<Model>, GenericView> {
+        private final ViewProvider<? super Model, GenericView> provider;
+
+        RowViewProvider(ViewProvider<? super Model, GenericView> provider) {
+            this.provider = provider;
+        }
+
+        /**
+         * The rows of a closed snapshot have no model, and so take the first view type of the provider, rather than handing it null
+         */
+        @Override
+        public int getViewType(Row<Model> row) {
+            Model model = row.getModel();
+            return model != null ? provider.getViewType(model) : provider.getViewTypes().iterator().next();
+        }
+
+        @Override
+        public Set<Integer> getViewTypes() {
+            return provider.getViewTypes();
+        }
+
+        @Override
+        public TypedViewHolder<Row<Model>, GenericView> create(LayoutInflater inflater, ViewGroup parent, int viewType) {
+            final TypedViewHolder<? super Model, GenericView> holder = provider.create(inflater, parent, viewType);
+            return new TypedViewHolder<Row<Model>, GenericView>(holder.getView()) {
+                @Override
+                protected void bind(GenericView view, Row<Model> row, int position, @Nullable SelectionManager selectionManager) {
+                    Model model = row.getModel();
+                    if (model != null) {
+                        holder.bind(model, position, selectionManager);
+                    }
+                }
+
+                @Override
+                protected boolean bindSelection(GenericView view, int position, @Nullable SelectionManager selectionManager) {
+                    return holder.bindSelection(position, selectionManager);
+                }
+            };
+        }
+    }
+}
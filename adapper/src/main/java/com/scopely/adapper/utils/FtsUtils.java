@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Util class for building SQLite full-text search queries.
+ */
+public class FtsUtils {
+    /**
+     * Turns text typed by a user into an FTS MATCH expression that matches rows containing every word of {@param constraint},
+     * with every word matched as a prefix, so that results narrow as the user types and words need not be typed out in full.
+     * Characters with a meaning in the MATCH syntax are dropped, so that no input can produce a malformed query.
+     * @return the MATCH expression, or null if {@param constraint} contains no words
+     */
+    @Nullable
+    public static String toMatchQuery(@Nullable CharSequence constraint) {
+        if (constraint == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String word : constraint.toString().split("\\s+")) {
+            String term = word.replaceAll("[\"*^():\\-]", "");
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('"').append(term).append("*\"");
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+}
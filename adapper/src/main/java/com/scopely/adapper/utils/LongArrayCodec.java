@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Util class for packing sets of ids into as few bytes as possible, so that large selections fit in a saved instance state.
+ * The ids are sorted and stored as the differences between neighbours, each written as a varint, so ids that are close together
+ * (such as database row ids) take one or two bytes each instead of eight.
+ */
+public class LongArrayCodec {
+    /**
+     * Encodes {@param ids}, which is sorted in place.
+     * The order of the ids is not preserved by {@link #decode(byte[])}.
+     */
+    public static byte[] encode(long[] ids) {
+        Arrays.sort(ids);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ids.length + 10);
+        writeVarint(out, ids.length);
+        if (ids.length > 0) {
+            //zigzag the first id so that small negative ids stay small
+            writeVarint(out, (ids[0] << 1) ^ (ids[0] >> 63));
+            for (int i = 1; i < ids.length; i++) {
+                //sorted, so the difference is non-negative when read as unsigned, even when it overflows a signed long
+                writeVarint(out, ids[i] - ids[i - 1]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return the ids encoded by {@link #encode(long[])}, in ascending order
+     * @throws IllegalArgumentException if {@param bytes} is not a valid encoding
+     */
+    public static long[] decode(byte[] bytes) {
+        int[] offset = new int[1];
+        long length = readVarint(bytes, offset);
+        if (length < 0 || length > bytes.length) {
+            throw new IllegalArgumentException("Invalid length " + length);
+        }
+        long[] ids = new long[(int) length];
+        if (ids.length > 0) {
+            long zigzag = readVarint(bytes, offset);
+            ids[0] = (zigzag >>> 1) ^ -(zigzag & 1);
+            for (int i = 1; i < ids.length; i++) {
+                ids[i] = ids[i - 1] + readVarint(bytes, offset);
+            }
+        }
+        if (offset[0] != bytes.length) {
+            throw new IllegalArgumentException("Trailing bytes after " + ids.length + " ids");
+        }
+        return ids;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] bytes, int[] offset) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (offset[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated varint");
+            }
+            byte b = bytes[offset[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint longer than 64 bits");
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import android.support.annotation.Nullable;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of primitive longs, using open addressing with linear probing.
+ * Used for sets of ids, where checking membership with {@link #contains(long)} or adding with {@link #add(long)} allocates nothing.
+ * Also usable as a {@link java.util.Set Set&lt;Long&gt;}, boxing as it goes.
+ */
+public class LongHashSet extends AbstractSet<Long> {
+    private long[] keys;
+    private boolean[] used;
+    private int mask;
+    private int size;
+    private int modificationCount;
+
+    public LongHashSet() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize the number of elements the set should be able to hold before it has to grow
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(LongIntHashMap.capacityFor(expectedSize));
+    }
+
+    public boolean contains(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return true iff {@param key} was not already in the set
+     */
+    public boolean add(long key) {
+        int slot = slot(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        used[slot] = true;
+        size++;
+        modificationCount++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @return true iff {@param key} was in the set
+     */
+    public boolean remove(long key) {
+        int hole = find(key);
+        if (hole < 0) {
+            return false;
+        }
+        removeAt(hole);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Long && contains(((Long) o).longValue());
+    }
+
+    @Override
+    public boolean add(Long key) {
+        return add(key.longValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Long && remove(((Long) o).longValue());
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(used, false);
+            size = 0;
+            modificationCount++;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Iterates over the table itself, without copying it. Modifying the set other than through {@link Iterator#remove()} during iteration
+     * causes the iterator to throw a {@link ConcurrentModificationException}.
+     */
+    @Override
+    public Iterator<Long> iterator() {
+        return new SlotIterator();
+    }
+
+    public long[] toLongArray() {
+        long[] elements = new long[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                elements[count++] = keys[i];
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Empties {@param hole}, shifting back any following elements of the same probe run, so that lookups never stop early at the emptied slot.
+     */
+    private void removeAt(int hole) {
+        removeAt(hole, null);
+    }
+
+    /**
+     * @param iterator if not null, told of each element shifted back, so that it neither skips nor repeats any
+     */
+    private void removeAt(int hole, @Nullable SlotIterator iterator) {
+        int next = (hole + 1) & mask;
+        while (used[next]) {
+            int ideal = slot(keys[next]);
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                if (iterator != null) {
+                    iterator.onShifted(next, hole);
+                }
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        size--;
+        modificationCount++;
+    }
+
+    private int find(long key) {
+        int slot = slot(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        return LongIntHashMap.hash(key) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                used[slot] = true;
+            }
+        }
+    }
+
+    /**
+     * Walks the slots of the table in order. Removing an element shifts later elements of its probe run back, into slots this iterator
+     * has already passed; it therefore looks at the emptied slot again, and, where a run wraps around the end of the table, remembers
+     * the elements shifted from its start to its end so as not to return them twice.
+     */
+    private class SlotIterator implements Iterator<Long> {
+        private int slot;
+        private int last = -1;
+        private int expectedModificationCount = modificationCount;
+        @Nullable
+        private LongHashSet returned;
+
+        @Override
+        public boolean hasNext() {
+            while (slot < keys.length && (!used[slot] || (returned != null && returned.remove(keys[slot])))) {
+                slot++;
+            }
+            return slot < keys.length;
+        }
+
+        @Override
+        public Long next() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = slot++;
+            return keys[last];
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last, this);
+            slot = last;
+            last = -1;
+            expectedModificationCount = modificationCount;
+        }
+
+        void onShifted(int from, int to) {
+            if (from < last && to >= last) {
+                if (returned == null) {
+                    returned = new LongHashSet();
+                }
+                returned.add(keys[to]);
+            }
+        }
+    }
+}
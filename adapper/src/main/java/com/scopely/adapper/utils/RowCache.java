@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size cache of values by position, for models decoded from the rows of a cursor.
+ * Each position has a single slot ({@code position % capacity}), so any run of consecutive positions no longer than the capacity is held in full,
+ * which is how a scrolling list reads its rows; a row is evicted by the row {@code capacity} positions away from it.
+ * Keys are plain ints, so a lookup allocates nothing. Values are tagged with the generation they were decoded in, so that a value put by a background thread
+ * after the rows have changed is never returned. Safe to use from several threads.
+ */
+public class RowCache<V> {
+    private final int[] positions;
+    private final int[] generations;
+    private final Object[] values;
+
+    public RowCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        positions = new int[capacity];
+        generations = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    /**
+     * @return the value put for {@param position} in {@param generation}, or null if there is none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public synchronized V get(int generation, int position) {
+        int slot = slot(position);
+        if (values[slot] != null && positions[slot] == position && generations[slot] == generation) {
+            return (V) values[slot];
+        }
+        return null;
+    }
+
+    public synchronized void put(int generation, int position, V value) {
+        int slot = slot(position);
+        positions[slot] = position;
+        generations[slot] = generation;
+        values[slot] = value;
+    }
+
+    /**
+     * Removes the values of the {@param count} positions starting at {@param start}, looking at no more slots than the cache has
+     */
+    public synchronized void remove(int start, int count) {
+        if (count >= values.length) {
+            for (int slot = 0; slot < values.length; slot++) {
+                if (positions[slot] >= start && positions[slot] - start < count) {
+                    values[slot] = null;
+                }
+            }
+        } else {
+            for (int position = start; position < start + count; position++) {
+                int slot = slot(position);
+                if (positions[slot] == position) {
+                    values[slot] = null;
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(values, null);
+    }
+
+    private int slot(int position) {
+        return (position & Integer.MAX_VALUE) % values.length;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Util class for moving work between threads.
+ */
+public class ThreadUtils {
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+    //A single thread, since the work is mostly database reads, which SQLite serializes per connection anyway
+    private static final Executor BACKGROUND_EXECUTOR = Executors.newSingleThreadExecutor(new BackgroundThreadFactory("Adapper background"));
+    //Speculative work gets a thread of its own, so that it never holds up filtering and paging
+    private static final Executor PREFETCH_EXECUTOR = Executors.newSingleThreadExecutor(new BackgroundThreadFactory("Adapper prefetch"));
+
+    /**
+     * Runs {@param runnable} on the main thread after any work currently in progress (such as a layout pass) has completed.
+     */
+    public static void postToMain(Runnable runnable) {
+        MAIN_HANDLER.post(runnable);
+    }
+
+    /**
+     * Runs {@param runnable} on the main thread once {@param delayMillis} have passed, unless it is removed with {@link #removeFromMain(Runnable)} first.
+     */
+    public static void postToMainDelayed(Runnable runnable, long delayMillis) {
+        MAIN_HANDLER.postDelayed(runnable, delayMillis);
+    }
+
+    /**
+     * Removes any pending posts of {@param runnable} to the main thread.
+     */
+    public static void removeFromMain(Runnable runnable) {
+        MAIN_HANDLER.removeCallbacks(runnable);
+    }
+
+    /**
+     * Runs {@param runnable} on a shared background thread, in the order submitted.
+     */
+    public static void runInBackground(Runnable runnable) {
+        BACKGROUND_EXECUTOR.execute(runnable);
+    }
+
+    /**
+     * Runs {@param runnable} on a background thread reserved for prefetching, in the order submitted.
+     * Work submitted here does not delay work submitted to {@link #runInBackground(Runnable)}, nor the other way around.
+     */
+    public static void runPrefetch(Runnable runnable) {
+        PREFETCH_EXECUTOR.execute(runnable);
+    }
+
+    private static class BackgroundThreadFactory implements ThreadFactory {
+        private final String name;
+
+        BackgroundThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.adapters;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class GroupableAdapperTest {
+
+    @Test
+    public void testPositionMapping() {
+        //Groups start at items 0, 3 and 4: [h] 0 1 2 [h] 3 [h] 4 5
+        List<Integer> categoryPositions = Arrays.asList(0, 3, 4);
+        int[] indices = {-1, 0, 1, 2, -2, 3, -3, 4, 5};
+        for (int position = 0; position < indices.length; position++) {
+            assertThat(GroupableAdapper.superPositionToIndex(position, categoryPositions), is(indices[position]));
+        }
+        assertThat(GroupableAdapper.getGroupIndex(3, categoryPositions), is(1));
+        assertThat(GroupableAdapper.getGroupIndex(5, categoryPositions), is(2));
+        assertThat(GroupableAdapper.listIndextoSuperPosition(3, categoryPositions), is(5));
+        assertThat(GroupableAdapper.categoryIndextoSuperPosition(2, categoryPositions), is(6));
+    }
+
+    @Test
+    public void testNoGroups() {
+        List<Integer> categoryPositions = Collections.emptyList();
+        assertThat(GroupableAdapper.superPositionToIndex(4, categoryPositions), is(4));
+        assertThat(GroupableAdapper.getGroupIndex(4, categoryPositions), is(-1));
+    }
+
+    @Test
+    public void testBinarySearchMatchesLinearScan() {
+        Random random = new Random(1);
+        for (int run = 0; run < 2000; run++) {
+            int items = random.nextInt(30);
+            List<Integer> categoryPositions = new ArrayList<>();
+            if (items > 0) {
+                categoryPositions.add(0);
+                for (int i = 1; i < items; i++) {
+                    if (random.nextInt(3) == 0) {
+                        categoryPositions.add(i);
+                    }
+                }
+            }
+            for (int position = 0; position < items + categoryPositions.size(); position++) {
+                assertThat(GroupableAdapper.superPositionToIndex(position, categoryPositions), is(linearSuperPositionToIndex(position, categoryPositions)));
+            }
+            for (int index = 0; index < items; index++) {
+                assertThat(GroupableAdapper.listIndextoSuperPosition(index, categoryPositions), is(linearListIndexToSuperPosition(index, categoryPositions)));
+            }
+        }
+    }
+
+    /**
+     * The scan that the binary searches replaced
+     */
+    private static int linearSuperPositionToIndex(int position, List<Integer> categoryPositions) {
+        if (categoryPositions.isEmpty()) {
+            return position;
+        }
+        for (int i = 0; i < categoryPositions.size() - 1; i++) {
+            if (categoryPositions.get(i) + i == position) {
+                return -(i + 1);
+            }
+            for (int j = categoryPositions.get(i); j < categoryPositions.get(i + 1); j++) {
+                if (j + i + 1 == position) {
+                    return j;
+                }
+            }
+        }
+        if (position == categoryPositions.get(categoryPositions.size() - 1) + categoryPositions.size() - 1) {
+            return -categoryPositions.size();
+        }
+        return position - categoryPositions.size();
+    }
+
+    private static int linearListIndexToSuperPosition(int index, List<Integer> categoryPositions) {
+        int position = index;
+        for (Integer categoryPosition : categoryPositions) {
+            if (categoryPosition > index) {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class FtsUtilsTest {
+
+    @Test
+    public void testSingleWord() {
+        assertThat(FtsUtils.toMatchQuery("tay"), is("\"tay*\""));
+    }
+
+    @Test
+    public void testMultipleWords() {
+        assertThat(FtsUtils.toMatchQuery("  taylor   sw "), is("\"taylor*\" \"sw*\""));
+    }
+
+    @Test
+    public void testEveryWordIsAPrefix() {
+        //Not only the word being typed: "tay sw" should find "Taylor Swift"
+        assertThat(FtsUtils.toMatchQuery("tay sw mus"), is("\"tay*\" \"sw*\" \"mus*\""));
+    }
+
+    @Test
+    public void testSyntaxStripped() {
+        assertThat(FtsUtils.toMatchQuery("\"a*\" -b (c) d:e ^f"), is("\"a*\" \"b*\" \"c*\" \"de*\" \"f*\""));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertThat(FtsUtils.toMatchQuery(null), is(nullValue()));
+        assertThat(FtsUtils.toMatchQuery(""), is(nullValue()));
+        assertThat(FtsUtils.toMatchQuery(" * \" "), is(nullValue()));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class LongArrayCodecTest {
+
+    @Test
+    public void testRoundTrip() {
+        long[] ids = new long[]{42, -7, 0, Long.MAX_VALUE, Long.MIN_VALUE, 43, 42};
+        long[] expected = ids.clone();
+        Arrays.sort(expected);
+        assertThat(Arrays.equals(LongArrayCodec.decode(LongArrayCodec.encode(ids)), expected), is(true));
+    }
+
+    @Test
+    public void testEmpty() {
+        byte[] bytes = LongArrayCodec.encode(new long[0]);
+        assertThat(bytes.length, is(1));
+        assertThat(LongArrayCodec.decode(bytes).length, is(0));
+    }
+
+    @Test
+    public void testDenseIdsAreCompact() {
+        long[] ids = new long[100000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ids.length - i;
+        }
+        byte[] bytes = LongArrayCodec.encode(ids);
+        assertThat(bytes.length < ids.length + 10, is(true));
+        long[] decoded = LongArrayCodec.decode(bytes);
+        assertThat(decoded.length, is(ids.length));
+        assertThat(decoded[0], is(1L));
+        assertThat(decoded[decoded.length - 1], is((long) ids.length));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncated() {
+        byte[] bytes = LongArrayCodec.encode(new long[]{1, 1000, 1000000});
+        LongArrayCodec.decode(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class LongHashSetTest {
+
+    @Test
+    public void testAddContains() {
+        LongHashSet set = new LongHashSet();
+        assertThat(set.add(1L), is(true));
+        assertThat(set.add(1L), is(false));
+        assertThat(set.add(-1L), is(true));
+        assertThat(set.size(), is(2));
+        assertThat(set.contains(1L), is(true));
+        assertThat(set.contains(-1L), is(true));
+        assertThat(set.contains(2L), is(false));
+        assertThat(set.contains((Object) 1L), is(true));
+        assertThat(set.contains((Object) 1), is(false));
+    }
+
+    @Test
+    public void testGrowAndRemove() {
+        LongHashSet set = new LongHashSet();
+        for (long i = 0; i < 50000; i++) {
+            set.add(i);
+        }
+        assertThat(set.size(), is(50000));
+        for (long i = 0; i < 50000; i += 3) {
+            assertThat(set.remove(i), is(true));
+        }
+        for (long i = 0; i < 50000; i++) {
+            assertThat(set.contains(i), is(i % 3 != 0));
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        LongHashSet set = new LongHashSet();
+        for (long i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        Iterator<Long> iterator = set.iterator();
+        int seen = 0;
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+            seen++;
+        }
+        assertThat(seen, is(100));
+        assertThat(set.size(), is(50));
+        assertThat(set.contains(2L), is(false));
+        assertThat(set.contains(3L), is(true));
+    }
+
+    @Test
+    public void testIteratorRemoveVisitsEachElementOnce() {
+        //Small, crowded tables, so that probe runs often wrap around the end of the table
+        Random random = new Random(0);
+        for (int run = 0; run < 2000; run++) {
+            LongHashSet set = new LongHashSet();
+            Set<Long> expected = new HashSet<>();
+            int count = 1 + random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                long key = random.nextInt(200);
+                set.add(key);
+                expected.add(key);
+            }
+            Set<Long> seen = new HashSet<>();
+            Set<Long> kept = new HashSet<>();
+            Iterator<Long> iterator = set.iterator();
+            while (iterator.hasNext()) {
+                Long key = iterator.next();
+                assertThat(seen.add(key), is(true));
+                if (random.nextBoolean()) {
+                    iterator.remove();
+                } else {
+                    kept.add(key);
+                }
+            }
+            assertThat(seen, is(expected));
+            assertThat(set.size(), is(kept.size()));
+            for (Long key : kept) {
+                assertThat(set.contains(key.longValue()), is(true));
+            }
+        }
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorFailsFast() {
+        LongHashSet set = new LongHashSet();
+        set.add(1L);
+        set.add(2L);
+        Iterator<Long> iterator = set.iterator();
+        iterator.next();
+        set.add(3L);
+        iterator.next();
+    }
+
+    @Test
+    public void testEqualsBoxedSet() {
+        LongHashSet set = new LongHashSet();
+        set.add(5L);
+        set.add(7L);
+        Set<Long> boxed = new HashSet<>(Arrays.asList(5L, 7L));
+        assertThat(set.equals(boxed), is(true));
+        assertThat(boxed.equals(set), is(true));
+        assertThat(set.hashCode(), is(boxed.hashCode()));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class LongIntHashMapTest {
+
+    @Test
+    public void testPutGet() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(1L, 10);
+        map.put(-7L, 20);
+        map.put(Long.MAX_VALUE, 30);
+        assertThat(map.size(), is(3));
+        assertThat(map.get(1L, -1), is(10));
+        assertThat(map.get(-7L, -1), is(20));
+        assertThat(map.get(Long.MAX_VALUE, -1), is(30));
+        assertThat(map.get(2L, -1), is(-1));
+    }
+
+    @Test
+    public void testPutReplaces() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(5L, 1);
+        map.put(5L, 2);
+        assertThat(map.size(), is(1));
+        assertThat(map.get(5L, -1), is(2));
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertThat(map.putIfAbsent(5L, 1), is(true));
+        assertThat(map.putIfAbsent(5L, 2), is(false));
+        assertThat(map.get(5L, -1), is(1));
+    }
+
+    @Test
+    public void testGrow() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i * 2);
+        }
+        assertThat(map.size(), is(1000));
+        for (int i = 0; i < 1000; i++) {
+            assertThat(map.get(i, -1), is(i * 2));
+        }
+    }
+
+    @Test
+    public void testRemoveKeepsProbeRuns() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            map.remove(i);
+        }
+        assertThat(map.size(), is(50));
+        for (int i = 0; i < 100; i++) {
+            assertThat(map.containsKey(i), is(i % 2 == 1));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(1L, 1);
+        map.clear();
+        assertThat(map.isEmpty(), is(true));
+        assertThat(map.containsKey(1L), is(false));
+    }
+
+    @Test
+    public void testCapacityFor() {
+        assertThat(LongIntHashMap.capacityFor(0), is(8));
+        assertThat(LongIntHashMap.capacityFor(4), is(8));
+        assertThat(LongIntHashMap.capacityFor(5), is(16));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 Scopely, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scopely.adapper.utils;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class RowCacheTest {
+
+    @Test
+    public void testHoldsConsecutiveRows() {
+        RowCache<String> cache = new RowCache<>(10);
+        for (int position = 5; position < 15; position++) {
+            cache.put(0, position, "row" + position);
+        }
+        for (int position = 5; position < 15; position++) {
+            assertThat(cache.get(0, position), is("row" + position));
+        }
+        cache.put(0, 15, "row15");
+        assertThat(cache.get(0, 5), is(nullValue()));
+        assertThat(cache.get(0, 15), is("row15"));
+    }
+
+    @Test
+    public void testGeneration() {
+        RowCache<String> cache = new RowCache<>(10);
+        cache.put(1, 3, "old");
+        assertThat(cache.get(2, 3), is(nullValue()));
+        assertThat(cache.get(1, 3), is("old"));
+    }
+
+    @Test
+    public void testRemove() {
+        RowCache<String> cache = new RowCache<>(4);
+        for (int position = 0; position < 4; position++) {
+            cache.put(0, position, "row" + position);
+        }
+        cache.remove(1, 2);
+        assertThat(cache.get(0, 0), is("row0"));
+        assertThat(cache.get(0, 1), is(nullValue()));
+        assertThat(cache.get(0, 2), is(nullValue()));
+        assertThat(cache.get(0, 3), is("row3"));
+        cache.remove(0, 1000);
+        assertThat(cache.get(0, 0), is(nullValue()));
+        assertThat(cache.get(0, 3), is(nullValue()));
+    }
+
+    @Test
+    public void testClear() {
+        RowCache<String> cache = new RowCache<>(4);
+        cache.put(0, 1, "row1");
+        cache.clear();
+        assertThat(cache.get(0, 1), is(nullValue()));
+    }
+}